@@ -0,0 +1,83 @@
+package com.medicare.hub.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and exits with status 1 if any benchmark got slower
+ * (or allocates more per operation, when both runs used -prof gc) by more than the threshold.
+ *
+ * Usage: java -cp target/benchmarks.jar com.medicare.hub.benchmark.CompareResults
+ *            results/baseline.json results/current.json [thresholdPercent, default 10]
+ */
+public final class CompareResults {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW   %s%n", entry.getKey());
+                continue;
+            }
+            Result after = entry.getValue();
+            // Throughput: higher is better; average time: lower is better
+            double timeChange = after.higherIsBetter()
+                    ? (before.score() - after.score()) / before.score()
+                    : (after.score() - before.score()) / before.score();
+            double allocChange = before.bytesPerOp() > 0 && after.bytesPerOp() >= 0
+                    ? (after.bytesPerOp() - before.bytesPerOp()) / before.bytesPerOp()
+                    : 0;
+
+            boolean regressed = timeChange > threshold || allocChange > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-5s %s  time %+.1f%%  alloc %+.1f%%%n",
+                    regressed ? "WORSE" : "ok", entry.getKey(), timeChange * 100, allocChange * 100);
+        }
+
+        System.out.printf("%d regression(s) over %.0f%%%n", regressions, threshold * 100);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private record Result(double score, boolean higherIsBetter, double bytesPerOp) {
+    }
+
+    // Keyed by benchmark name plus its @Param values
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+
+            JsonNode primary = run.path("primaryMetric");
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION);
+            results.put(key.toString(), new Result(
+                    primary.path("score").asDouble(),
+                    "thrpt".equals(run.path("mode").asText()),
+                    allocation.isMissingNode() ? -1 : allocation.path("score").asDouble()));
+        }
+        return results;
+    }
+}
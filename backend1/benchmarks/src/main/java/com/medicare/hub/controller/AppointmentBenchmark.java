@@ -0,0 +1,65 @@
+package com.medicare.hub.controller;
+
+import com.medicare.hub.dto.DoctorAppointment;
+import com.medicare.hub.model.Appointment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Doctor dashboard path: filter the doctor's appointments, then build one response row per appointment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int appointmentCount;
+
+    private AppointmentController controller;
+    private List<Appointment> appointments;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() {
+        today = LocalDate.now();
+        appointments = AppointmentFixtures.appointments(appointmentCount, today);
+        controller = new AppointmentController(null, AppointmentFixtures.directory(appointmentCount));
+    }
+
+    @Benchmark
+    public List<Appointment> filterAcceptedToday() {
+        return AppointmentController.acceptedOn(appointments, today);
+    }
+
+    @Benchmark
+    public List<Appointment> filterUpcoming() {
+        return AppointmentController.upcoming(appointments, today, 10);
+    }
+
+    @Benchmark
+    public List<DoctorAppointment> enrichAll() {
+        return controller.enrichAppointmentsWithPatientInfo(appointments);
+    }
+
+    @Benchmark
+    public List<DoctorAppointment> filterAndEnrichToday() {
+        return controller.enrichAppointmentsWithPatientInfo(AppointmentController.acceptedOn(appointments, today));
+    }
+}
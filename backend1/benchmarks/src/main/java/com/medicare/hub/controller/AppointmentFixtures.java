@@ -0,0 +1,61 @@
+package com.medicare.hub.controller;
+
+import com.medicare.hub.model.Appointment;
+import com.medicare.hub.model.User;
+import com.medicare.hub.service.UserDirectory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic data shaped like a busy doctor's appointment list
+final class AppointmentFixtures {
+
+    private static final String[] STATUSES = {"pending", "accepted", "accepted", "accepted", "rejected", "completed"};
+    private static final String[] TYPES = {"New Patient", "Follow-up", "Check-Up", "Consultation", "Emergency"};
+
+    private AppointmentFixtures() {
+    }
+
+    // Appointments spread over +/- 30 days around today, one patient per ~3 appointments
+    static List<Appointment> appointments(int count, LocalDate today) {
+        Random random = new Random(42);
+        List<Appointment> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Appointment apt = new Appointment();
+            apt.setId("apt-" + i);
+            apt.setPatientId(patientId(i / 3));
+            apt.setDoctorId("doctor-1");
+            apt.setAppointmentDate(today.plusDays(random.nextInt(61) - 30));
+            apt.setAppointmentTime(LocalTime.of(10 + random.nextInt(13), random.nextBoolean() ? 0 : 30));
+            apt.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            apt.setType(TYPES[random.nextInt(TYPES.length)]);
+            apt.setReason("Routine consultation regarding ongoing treatment #" + i);
+            apt.setCreatedAt(LocalDateTime.now().minusDays(random.nextInt(14)));
+            appointments.add(apt);
+        }
+        return appointments;
+    }
+
+    // Directory with every fixture patient already cached, so no repository is needed
+    static UserDirectory directory(int appointmentCount) {
+        UserDirectory directory = new UserDirectory(null, 100_000, 60);
+        for (int i = 0; i <= appointmentCount / 3; i++) {
+            User user = new User();
+            user.setId(patientId(i));
+            user.setName("Patient " + i);
+            user.setEmail("patient" + i + "@example.com");
+            user.setRole("Patient");
+            user.setAge(20 + i % 60);
+            directory.put(user);
+        }
+        return directory;
+    }
+
+    private static String patientId(int i) {
+        return "patient-" + i;
+    }
+}
@@ -0,0 +1,48 @@
+package com.medicare.hub.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passkey generation, single-threaded and under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasskeyBenchmark {
+
+    private PatientAccessController controller;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        // generatePassKey uses none of the injected collaborators; pass nulls for however many there are
+        Constructor<?> constructor = PatientAccessController.class.getConstructors()[0];
+        controller = (PatientAccessController) constructor.newInstance(new Object[constructor.getParameterCount()]);
+    }
+
+    @Benchmark
+    public String generate() {
+        return controller.generatePassKey();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateContended() {
+        return controller.generatePassKey();
+    }
+}
@@ -0,0 +1,50 @@
+package com.medicare.hub.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * public_id extraction runs for every file we replace or delete.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CloudinaryServiceBenchmark {
+
+    private static final String URL =
+            "https://res.cloudinary.com/demo-cloud/image/upload/v1712345678/reports/3f1c2a9e-8d4b-4c6e-9a7f-1b2c3d4e5f60.pdf";
+    // Stored before the URL fix-up in uploadFile existed
+    private static final String MALFORMED_URL =
+            "https:/res.cloudinary.com/demo-cloud/image/upload/v1712345678/prescriptions/7a8b9c0d-1e2f-4a5b-8c7d-6e5f4a3b2c1d.jpg";
+
+    private CloudinaryService cloudinaryService;
+
+    @Setup
+    public void setUp() {
+        cloudinaryService = new CloudinaryService(null, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String extractPublicId() {
+        return cloudinaryService.extractPublicId(URL);
+    }
+
+    @Benchmark
+    public String extractPublicIdMalformed() {
+        return cloudinaryService.extractPublicId(MALFORMED_URL);
+    }
+}
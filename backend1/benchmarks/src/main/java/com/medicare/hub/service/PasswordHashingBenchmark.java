@@ -0,0 +1,51 @@
+package com.medicare.hub.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost per strength, to pick app.security.bcrypt-strength for a host: the highest strength
+ * whose matches() stays near app.security.hash-target-ms. Every login pays one matches().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"8", "10", "11", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        storedHash = encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("correct horse battery staple", storedHash);
+    }
+}
@@ -0,0 +1,60 @@
+package com.medicare.hub.loadtest;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Streams CSV rows into one COPY ... FROM STDIN, flushing every ~1 MB so memory stays flat.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 4096);
+    private long rows;
+
+    CopyWriter(CopyManager copyManager, String table, String columns) throws SQLException {
+        this.copyIn = copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+    }
+
+    // null -> empty unquoted field, which COPY csv reads as NULL
+    void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            Object value = values[i];
+            if (value != null) {
+                buffer.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        buffer.append('\n');
+        rows++;
+        if (buffer.length() >= FLUSH_BYTES) {
+            flush();
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!copyIn.isActive()) {
+            return;
+        }
+        flush();
+        copyIn.endCopy();
+    }
+}
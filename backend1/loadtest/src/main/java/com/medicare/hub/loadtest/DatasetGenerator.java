@@ -0,0 +1,234 @@
+package com.medicare.hub.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Fills a local database with a synthetic, production-shaped dataset.
+ *
+ * Doctors and patients are picked with a Zipf distribution, so doctor0 / patient0 are the
+ * busiest and most long-history accounts and most accounts have little data. Every account
+ * is {@code doctor<i>@loadtest.local} / {@code patient<i>@loadtest.local} with the password
+ * given by --password, which is what {@link LoadHarness} logs in with.
+ *
+ * The tables must already exist (start the backend once so Hibernate creates them).
+ * Everything is written with COPY in one transaction; --truncate empties the tables first.
+ *
+ * Usage: java -cp target/loadtest.jar com.medicare.hub.loadtest.DatasetGenerator
+ *            [--url=jdbc:postgresql://localhost:5432/healthcare] [--user=postgres] [--db-password=]
+ *            [--doctors=200] [--patients=20000] [--appointments=200000] [--records=100000]
+ *            [--prescriptions=100000] [--labs=50000] [--notifications=200000]
+ *            [--skew=1.1] [--seed=42] [--password=loadtest] [--truncate]
+ */
+public final class DatasetGenerator {
+
+    private static final String[] HOSPITALS = {
+            "City General Hospital", "St. Mary's Medical Center", "Riverside Clinic", "Northside Hospital",
+            "Lakeview Health", "Mercy Hospital", "Sunrise Medical", "Green Valley Clinic"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Maya", "John", "Sarah", "Emily", "Omar", "Priya", "Lucas", "Chen", "Fatima",
+            "David", "Aisha", "Noah", "Sofia", "Ravi", "Hana", "Mateo", "Zara", "Ethan", "Leila"
+    };
+    private static final String[] LAST_NAMES = {
+            "Mitchell", "Davis", "Chen", "Khan", "Patel", "Garcia", "Smith", "Nguyen", "Ali", "Brown",
+            "Singh", "Lopez", "Kim", "Ahmed", "Wilson", "Rossi", "Sato", "Haddad", "Clark", "Mehta"
+    };
+    private static final String[] APPOINTMENT_TYPES = {"New Patient", "Follow-up", "Check-Up", "Consultation", "Emergency"};
+    private static final String[] MEDICINES = {
+            "Amoxicillin 500mg", "Metformin 850mg", "Atorvastatin 20mg", "Lisinopril 10mg", "Omeprazole 20mg",
+            "Paracetamol 650mg", "Cetirizine 10mg", "Azithromycin 250mg"
+    };
+    private static final String[] TABLES = {
+            "patient_notifications", "lab_results", "prescriptions", "medical_records", "appointments", "users"
+    };
+
+    private final Args args;
+    private final SplittableRandom random;
+    private final LocalDate today = LocalDate.now();
+    private final LocalDateTime now = LocalDateTime.now();
+    private final int doctors;
+    private final int patients;
+    private final Zipf doctorSkew;
+    private final Zipf patientSkew;
+
+    private DatasetGenerator(Args args) {
+        this.args = args;
+        this.random = new SplittableRandom(args.getInt("seed", 42));
+        this.doctors = args.getInt("doctors", 200);
+        this.patients = args.getInt("patients", 20_000);
+        double skew = Double.parseDouble(args.get("skew", "1.1"));
+        this.doctorSkew = new Zipf(doctors, skew);
+        this.patientSkew = new Zipf(patients, skew);
+    }
+
+    public static void main(String[] argv) throws SQLException {
+        new DatasetGenerator(new Args(argv)).run();
+    }
+
+    private void run() throws SQLException {
+        String url = args.get("url", "jdbc:postgresql://localhost:5432/healthcare");
+        try (Connection connection = DriverManager.getConnection(url, args.get("user", "postgres"), args.get("db-password", ""))) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            if (args.has("truncate")) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("TRUNCATE " + String.join(", ", TABLES));
+                }
+            }
+
+            long start = System.nanoTime();
+            report("users", users(copyManager));
+            report("appointments", appointments(copyManager, args.getInt("appointments", 200_000)));
+            report("medical_records", medicalRecords(copyManager, args.getInt("records", 100_000)));
+            report("prescriptions", prescriptions(copyManager, args.getInt("prescriptions", 100_000)));
+            report("lab_results", labResults(copyManager, args.getInt("labs", 50_000)));
+            report("patient_notifications", notifications(copyManager, args.getInt("notifications", 200_000)));
+            connection.commit();
+
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("ANALYZE");
+            }
+            System.out.printf("Done in %.1fs%n", (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private long users(CopyManager copyManager) throws SQLException {
+        // Hashing once keeps generation fast; every account shares the same password
+        String passwordHash = new BCryptPasswordEncoder().encode(args.get("password", "loadtest"));
+
+        try (CopyWriter out = new CopyWriter(copyManager, "users",
+                "id, name, email, password, role, gender, date_of_birth, age, hospital_name, created_at")) {
+            for (int i = 0; i < doctors; i++) {
+                LocalDate dob = today.minusYears(30 + random.nextInt(35)).minusDays(random.nextInt(365));
+                out.row(doctorId(i), "Dr. " + name(), "doctor" + i + "@loadtest.local", passwordHash, "Doctor",
+                        gender(), dob, today.getYear() - dob.getYear(), HOSPITALS[i % HOSPITALS.length],
+                        now.minusDays(random.nextInt(1000)));
+            }
+            for (int i = 0; i < patients; i++) {
+                LocalDate dob = today.minusYears(1 + random.nextInt(90)).minusDays(random.nextInt(365));
+                out.row(patientId(i), name(), "patient" + i + "@loadtest.local", passwordHash, "Patient",
+                        gender(), dob, today.getYear() - dob.getYear(), null, now.minusDays(random.nextInt(1000)));
+            }
+            return out.rows();
+        }
+    }
+
+    // Mostly history, with a band of upcoming appointments so the doctor dashboard has work to show
+    private long appointments(CopyManager copyManager, int count) throws SQLException {
+        try (CopyWriter out = new CopyWriter(copyManager, "appointments",
+                "id, patient_id, doctor_id, appointment_date, appointment_time, status, type, reason, notes, created_at, updated_at")) {
+            for (int i = 0; i < count; i++) {
+                int offset = random.nextInt(10) < 8 ? -random.nextInt(365) : random.nextInt(30);
+                LocalDate date = today.plusDays(offset);
+                String status = offset < 0
+                        ? pick("completed", "completed", "completed", "rejected")
+                        : pick("pending", "accepted", "accepted");
+                LocalDateTime createdAt = date.atStartOfDay().minusDays(1 + random.nextInt(20));
+                out.row(uuid(), patientId(patientSkew.next(random)), doctorId(doctorSkew.next(random)), date,
+                        LocalTime.of(10 + random.nextInt(13), random.nextBoolean() ? 0 : 30),
+                        status, pick(APPOINTMENT_TYPES), "Synthetic appointment #" + i, null, createdAt, createdAt);
+            }
+            return out.rows();
+        }
+    }
+
+    private long medicalRecords(CopyManager copyManager, int count) throws SQLException {
+        try (CopyWriter out = new CopyWriter(copyManager, "medical_records",
+                "id, patient_id, hospital, doctor_name, record_type, description, details, record_date, category, " +
+                "patient_condition, created_at")) {
+            for (int i = 0; i < count; i++) {
+                LocalDate date = today.minusDays(random.nextInt(3 * 365));
+                out.row(uuid(), patientId(patientSkew.next(random)), pick(HOSPITALS), "Dr. " + name(), "Medical Record",
+                        "Synthetic visit summary #" + i, "Vitals normal. Follow up as needed.", date,
+                        "Medical Record", pick("Stable", "Improving", "Under observation"), date.atTime(9, 0));
+            }
+            return out.rows();
+        }
+    }
+
+    private long prescriptions(CopyManager copyManager, int count) throws SQLException {
+        try (CopyWriter out = new CopyWriter(copyManager, "prescriptions",
+                "id, patient_id, hospital, doctor_name, medicine_name, instructions, prescription_date, end_date, " +
+                "duration_days, status, created_at")) {
+            for (int i = 0; i < count; i++) {
+                LocalDate date = today.minusDays(random.nextInt(2 * 365));
+                int duration = 5 + random.nextInt(60);
+                LocalDate endDate = date.plusDays(duration - 1);
+                out.row(uuid(), patientId(patientSkew.next(random)), pick(HOSPITALS), "Dr. " + name(), pick(MEDICINES),
+                        "Twice daily after meals", date, endDate, duration,
+                        endDate.isBefore(today) ? "Expired" : "Active", date.atTime(10, 0));
+            }
+            return out.rows();
+        }
+    }
+
+    private long labResults(CopyManager copyManager, int count) throws SQLException {
+        try (CopyWriter out = new CopyWriter(copyManager, "lab_results",
+                "id, patient_id, hospital_name, doctor_name, instructions, report, lab_result_date, created_at")) {
+            for (int i = 0; i < count; i++) {
+                LocalDate date = today.minusDays(random.nextInt(2 * 365));
+                // About one in ten has no report yet, which is what the doctor's pending list shows
+                String report = random.nextInt(10) == 0 ? null : "All values within reference range";
+                out.row(uuid(), patientId(patientSkew.next(random)), pick(HOSPITALS), "Dr. " + name(),
+                        "Fasting required", report, date, date.atTime(8, 0));
+            }
+            return out.rows();
+        }
+    }
+
+    private long notifications(CopyManager copyManager, int count) throws SQLException {
+        try (CopyWriter out = new CopyWriter(copyManager, "patient_notifications",
+                "id, patient_id, type, title, message, doctor_name, is_read, created_at")) {
+            for (int i = 0; i < count; i++) {
+                LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 60));
+                out.row(uuid(), patientId(patientSkew.next(random)), "appointment_update", "Appointment update",
+                        "Your appointment status changed", "Dr. " + name(), random.nextInt(10) < 7, createdAt);
+            }
+            return out.rows();
+        }
+    }
+
+    // Stable ids so reruns with --truncate produce the same accounts
+    static String doctorId(int i) {
+        return UUID.nameUUIDFromBytes(("loadtest-doctor-" + i).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    static String patientId(int i) {
+        return UUID.nameUUIDFromBytes(("loadtest-patient-" + i).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private String uuid() {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private String name() {
+        return pick(FIRST_NAMES) + " " + pick(LAST_NAMES);
+    }
+
+    private String gender() {
+        return pick("Male", "Female");
+    }
+
+    private String pick(String... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static void report(String table, long rows) {
+        System.out.printf("%-22s %,12d rows%n", table, rows);
+    }
+}
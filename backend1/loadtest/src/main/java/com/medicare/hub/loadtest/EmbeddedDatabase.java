@@ -0,0 +1,38 @@
+package com.medicare.hub.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Starts a throwaway PostgreSQL for load tests and keeps it running until Ctrl-C.
+ * Point the backend at it (it creates the schema on startup), then run DatasetGenerator
+ * and LoadHarness with the printed JDBC URL. Data is discarded on exit.
+ *
+ * Usage: java -cp target/loadtest.jar com.medicare.hub.loadtest.EmbeddedDatabase [--port=5433]
+ */
+public final class EmbeddedDatabase {
+
+    private EmbeddedDatabase() {
+    }
+
+    public static void main(String[] argv) throws IOException, InterruptedException {
+        Args args = new Args(argv);
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setPort(args.getInt("port", 5433))
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                postgres.close();
+            } catch (IOException e) {
+                System.err.println("Failed to stop embedded Postgres: " + e.getMessage());
+            }
+        }));
+
+        String url = postgres.getJdbcUrl("postgres", "postgres");
+        System.out.println("Embedded Postgres running at " + url + " (user postgres, empty password)");
+        System.out.println("Start the backend with --spring.datasource.url=" + url);
+        new CountDownLatch(1).await();
+    }
+}
@@ -0,0 +1,150 @@
+package com.medicare.hub.loadtest;
+
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compares insert throughput and index size for the three ways ids have been stored:
+ * random UUIDs as varchar (before), random UUIDs as uuid, and time-ordered UUIDv7 as uuid (now).
+ *
+ * Each variant gets a scratch table shaped like the backend's tables: an id primary key, an indexed
+ * patient_id drawn from a pool of --patients random ids, a timestamp and a short payload.
+ * --rows are inserted with JDBC batches of --batch, one transaction per batch, the way Hibernate
+ * flushes them. Prints rows/s and the size of the table, the primary key and the patient index.
+ * The scratch tables are dropped afterwards unless --keep is given. Nothing else is touched.
+ *
+ * Usage: java -cp target/loadtest.jar com.medicare.hub.loadtest.IdInsertBenchmark
+ *            [--url=jdbc:postgresql://localhost:5432/healthcare] [--user=postgres] [--db-password=]
+ *            [--rows=500000] [--batch=50] [--patients=20000] [--keep]
+ */
+public final class IdInsertBenchmark {
+
+    private enum Variant {
+        VARCHAR_V4("varchar-v4", "varchar(255)"),
+        UUID_V4("uuid-v4", "uuid"),
+        UUID_V7("uuid-v7", "uuid");
+
+        final String label;
+        final String columnType;
+
+        Variant(String label, String columnType) {
+            this.label = label;
+            this.columnType = columnType;
+        }
+
+        String table() {
+            return "bench_ids_" + name().toLowerCase();
+        }
+    }
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Args args;
+    private final int rows;
+    private final int batch;
+    private final UUID[] patientIds;
+
+    private IdInsertBenchmark(Args args) {
+        this.args = args;
+        this.rows = args.getInt("rows", 500_000);
+        this.batch = args.getInt("batch", 50);
+        this.patientIds = new UUID[args.getInt("patients", 20_000)];
+        for (int i = 0; i < patientIds.length; i++) {
+            patientIds[i] = UUID.randomUUID();
+        }
+    }
+
+    public static void main(String[] argv) throws SQLException {
+        new IdInsertBenchmark(new Args(argv)).run();
+    }
+
+    private void run() throws SQLException {
+        String url = args.get("url", "jdbc:postgresql://localhost:5432/healthcare");
+        try (Connection connection = DriverManager.getConnection(url, args.get("user", "postgres"), args.get("db-password", ""))) {
+            System.out.printf("%,d rows, batches of %d%n%n", rows, batch);
+            System.out.printf("%-12s %12s %10s %10s %14s%n", "variant", "rows/s", "table", "pk index", "patient index");
+            for (Variant variant : List.of(Variant.values())) {
+                createTable(connection, variant);
+                double rowsPerSecond = insert(connection, variant);
+                System.out.printf("%-12s %,12.0f %10s %10s %14s%n", variant.label, rowsPerSecond,
+                        size(connection, variant.table()),
+                        size(connection, variant.table() + "_pkey"),
+                        size(connection, variant.table() + "_patient"));
+                if (!args.has("keep")) {
+                    execute(connection, "DROP TABLE " + variant.table());
+                }
+            }
+        }
+    }
+
+    private void createTable(Connection connection, Variant variant) throws SQLException {
+        String table = variant.table();
+        execute(connection, "DROP TABLE IF EXISTS " + table);
+        execute(connection, "CREATE TABLE " + table + " (id " + variant.columnType + " PRIMARY KEY, "
+                + "patient_id " + variant.columnType + " NOT NULL, created_at timestamp NOT NULL, payload text)");
+        execute(connection, "CREATE INDEX " + table + "_patient ON " + table + " (patient_id)");
+    }
+
+    private double insert(Connection connection, Variant variant) throws SQLException {
+        connection.setAutoCommit(false);
+        String sql = "INSERT INTO " + variant.table() + " (id, patient_id, created_at, payload) VALUES (?, ?, ?, ?)";
+        long start = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                UUID id = variant == Variant.UUID_V7 ? uuidV7() : UUID.randomUUID();
+                UUID patientId = patientIds[RANDOM.nextInt(patientIds.length)];
+                if (variant == Variant.VARCHAR_V4) {
+                    statement.setString(1, id.toString());
+                    statement.setString(2, patientId.toString());
+                } else {
+                    statement.setObject(1, id);
+                    statement.setObject(2, patientId);
+                }
+                statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                statement.setString(4, "Routine check-up, no findings");
+                statement.addBatch();
+                if ((i + 1) % batch == 0 || i == rows - 1) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    // Same layout as the backend's UuidV7Generator, minus the per-millisecond counter,
+    // which only matters for ordering within a millisecond
+    private static UUID uuidV7() {
+        long millis = System.currentTimeMillis();
+        long msb = (millis << 16) | 0x7000L | (RANDOM.nextInt() & 0x0FFFL);
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static String size(Connection connection, String relation) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_size_pretty(pg_relation_size(?::regclass))")) {
+            statement.setString(1, relation);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.medicare.hub.loadtest;
+
+import java.util.Arrays;
+
+// Latencies for one endpoint; recording is synchronized, percentiles are computed once at the end
+final class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long elapsedNanos, boolean ok) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, count / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                count == 0 ? 0 : sorted[count - 1] / 1e6);
+    }
+
+    record Summary(int requests, int errors, double perSecond, double p50, double p95, double p99, double max) {
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(rank, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,230 @@
+package com.medicare.hub.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Replays the dashboard call mix against a running backend and reports throughput and
+ * latency percentiles per endpoint.
+ *
+ * Each virtual user repeatedly picks an account generated by {@link DatasetGenerator}, with the
+ * same Zipf skew, so busy accounts are hit more often. It logs in once per account, because
+ * tokens are cached the way the browser keeps them in sessionStorage. It then makes
+ * --calls-per-session weighted calls from the mix for that account's role.
+ * Requests made during the warm-up are not recorded.
+ *
+ * Usage: java -cp target/loadtest.jar com.medicare.hub.loadtest.LoadHarness
+ *            [--base=http://localhost:8080/api] [--concurrency=32] [--duration=60] [--warmup=10]
+ *            [--doctors=200] [--patients=20000] [--doctor-share=20] [--skew=1.1]
+ *            [--calls-per-session=5] [--password=loadtest] [--mix=path/to/mix.csv] [--seed=7]
+ */
+public final class LoadHarness {
+
+    private static final String LOGIN = "POST /login";
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    private record Call(String path, int weight) {
+    }
+
+    private record Session(String userId, String token) {
+    }
+
+    private final Args args;
+    private final String base;
+    private final String password;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, List<Call>> mix;
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Zipf doctorSkew;
+    private final Zipf patientSkew;
+    private volatile boolean recording;
+
+    private LoadHarness(Args args) throws IOException {
+        this.args = args;
+        this.base = args.get("base", "http://localhost:8080/api");
+        this.password = args.get("password", "loadtest");
+        this.mix = readMix(args.get("mix", null));
+        double skew = Double.parseDouble(args.get("skew", "1.1"));
+        this.doctorSkew = new Zipf(args.getInt("doctors", 200), skew);
+        this.patientSkew = new Zipf(args.getInt("patients", 20_000), skew);
+    }
+
+    public static void main(String[] argv) throws Exception {
+        new LoadHarness(new Args(argv)).run();
+    }
+
+    private void run() throws InterruptedException {
+        int concurrency = args.getInt("concurrency", 32);
+        long warmupMillis = args.getInt("warmup", 10) * 1000L;
+        long durationMillis = args.getInt("duration", 60) * 1000L;
+        long seed = args.getInt("seed", 7);
+
+        long start = System.currentTimeMillis();
+        long measureFrom = start + warmupMillis;
+        long end = measureFrom + durationMillis;
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int t = 0; t < concurrency; t++) {
+            SplittableRandom random = new SplittableRandom(seed + t);
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.currentTimeMillis() < end) {
+                        runSession(random);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + t);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        System.out.printf("Warming up for %ds with %d virtual users...%n", warmupMillis / 1000, concurrency);
+        Thread.sleep(Math.max(0, measureFrom - System.currentTimeMillis()));
+        recording = true;
+        System.out.printf("Measuring for %ds...%n", durationMillis / 1000);
+        done.await();
+
+        report(durationMillis / 1000.0);
+    }
+
+    private void runSession(SplittableRandom random) {
+        boolean doctor = random.nextInt(100) < args.getInt("doctor-share", 20);
+        String email = doctor
+                ? "doctor" + doctorSkew.next(random) + "@loadtest.local"
+                : "patient" + patientSkew.next(random) + "@loadtest.local";
+
+        Session session = sessions.get(email);
+        if (session == null) {
+            session = login(email);
+            if (session == null) {
+                return;
+            }
+            sessions.put(email, session);
+        }
+
+        List<Call> calls = mix.get(doctor ? "Doctor" : "Patient");
+        int callsPerSession = args.getInt("calls-per-session", 5);
+        for (int i = 0; i < callsPerSession; i++) {
+            Call call = pick(calls, random);
+            String path = call.path()
+                    .replace("{id}", session.userId())
+                    .replace("{prefix}", "" + LETTERS.charAt(random.nextInt(26)) + LETTERS.charAt(random.nextInt(26)));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", "Bearer " + session.token())
+                    .GET()
+                    .build();
+            send("GET " + call.path(), request);
+        }
+    }
+
+    private Session login(String email) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = send(LOGIN, request);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            JsonNode json = objectMapper.readTree(response.body());
+            return new Session(json.path("userData").path("id").asText(), json.path("token").asText());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // Counted as an error below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (recording) {
+            boolean ok = response != null && response.statusCode() < 400;
+            recorders.computeIfAbsent(endpoint, e -> new LatencyRecorder()).record(elapsed, ok);
+        }
+        return response;
+    }
+
+    private void report(double seconds) {
+        System.out.printf("%n%-48s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        int total = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : new TreeMap<>(recorders).entrySet()) {
+            LatencyRecorder.Summary s = entry.getValue().summarize(seconds);
+            total += s.requests();
+            System.out.printf("%-48s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), s.requests(), s.errors(), s.perSecond(), s.p50(), s.p95(), s.p99(), s.max());
+        }
+        System.out.printf("%nTotal: %d requests, %.1f req/s%n", total, total / seconds);
+    }
+
+    private static Call pick(List<Call> calls, SplittableRandom random) {
+        int totalWeight = calls.stream().mapToInt(Call::weight).sum();
+        int roll = random.nextInt(totalWeight);
+        for (Call call : calls) {
+            roll -= call.weight();
+            if (roll < 0) {
+                return call;
+            }
+        }
+        return calls.get(calls.size() - 1);
+    }
+
+    private static Map<String, List<Call>> readMix(String file) throws IOException {
+        InputStream in = file != null
+                ? Files.newInputStream(Path.of(file))
+                : LoadHarness.class.getResourceAsStream("/dashboard-mix.csv");
+        Map<String, List<Call>> mix = new ConcurrentHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(",", 3);
+                mix.computeIfAbsent(parts[0], role -> new ArrayList<>())
+                        .add(new Call(parts[2], Integer.parseInt(parts[1])));
+            }
+        }
+        if (!mix.containsKey("Doctor") || !mix.containsKey("Patient")) {
+            throw new IllegalArgumentException("Call mix needs both Doctor and Patient entries");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,30 @@
+package com.medicare.hub.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf-distributed index in [0, n): index 0 is the most popular, and with exponent ~1
+ * the top 1% of doctors or patients get a large share of the rows, as they do in production.
+ */
+final class Zipf {
+
+    private final double[] cdf;
+
+    Zipf(int n, double exponent) {
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    int next(SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, cdf.length - 1);
+    }
+}
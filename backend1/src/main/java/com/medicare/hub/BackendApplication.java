@@ -3,11 +3,20 @@ package com.medicare.hub;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Map;
+
 @SpringBootApplication
 public class BackendApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(BackendApplication.class, args);
+		SpringApplication application = new SpringApplication(BackendApplication.class);
+		// Metrics are scraped from a separate port so they never go through the public API;
+		// application.properties can override any of these
+		application.setDefaultProperties(Map.of(
+				"management.server.port", "8081",
+				"management.endpoints.web.exposure.include", "health,info,prometheus,metrics"
+		));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,51 @@
+package com.medicare.hub.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medicare.hub.dto.ApiResponse;
+import com.medicare.hub.service.AccessGrantService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Authorizes /api/doctor/{doctorId}/patient/{patientId}/** against the doctor's access grant.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccessGrantInterceptor implements HandlerInterceptor {
+
+    private final AccessGrantService accessGrantService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null) {
+            return true;
+        }
+
+        String doctorId = pathVariables.get("doctorId");
+        String patientId = pathVariables.get("patientId");
+        if (doctorId == null || patientId == null || accessGrantService.hasAccess(doctorId, patientId)) {
+            return true;
+        }
+
+        log.warn("Doctor {} denied access to patient {}", doctorId, patientId);
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("No active access to this patient. Please verify a new access code."));
+        return false;
+    }
+}
@@ -0,0 +1,91 @@
+package com.medicare.hub.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Custom JDK Flight Recorder events. They cost next to nothing while no recording is running
+ * (shouldCommit() is false and no fields are filled in), so they stay on in production;
+ * {@link com.medicare.hub.service.FlightRecordingService} captures them on demand.
+ * User ids are never recorded in clear, only as {@link #idHash(String)}.
+ */
+public final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {
+    }
+
+    @Name("com.medicare.hub.Request")
+    @Label("API Request")
+    @Category({"Medicare Hub"})
+    @StackTrace(false)
+    public static class Request extends Event {
+        @Label("Endpoint")
+        public String endpoint;
+        @Label("Status")
+        public int status;
+        @Label("Patient Id Hash")
+        public String patientIdHash;
+        @Label("Doctor Id Hash")
+        public String doctorIdHash;
+        @Label("SQL Statements")
+        public int sqlStatements;
+    }
+
+    @Name("com.medicare.hub.RepositoryCall")
+    @Label("Repository Call")
+    @Category({"Medicare Hub"})
+    @StackTrace(false)
+    public static class RepositoryCall extends Event {
+        @Label("Repository")
+        public String repository;
+        @Label("Method")
+        public String method;
+        @Label("Rows")
+        @Description("Entities returned, or rows changed by a modifying query; -1 if unknown")
+        public long rows;
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    @Name("com.medicare.hub.Cloudinary")
+    @Label("Cloudinary Call")
+    @Category({"Medicare Hub"})
+    @StackTrace(false)
+    public static class Cloudinary extends Event {
+        @Label("Operation")
+        public String operation;
+        @Label("Folder")
+        public String folder;
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+        @Label("Outcome")
+        public String outcome;
+    }
+
+    /**
+     * First 8 bytes of the SHA-256 of the id, in hex: enough to follow one user through a
+     * recording, and to check a known id against it, without putting the id itself in the file.
+     */
+    public static String idHash(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(id.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.medicare.hub.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medicare.hub.dto.ApiResponse;
+import com.medicare.hub.model.UuidStringType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Rejects path ids ({id}, {patientId}, ...) that aren't UUIDs with a 400. Id columns are uuid,
+ * so a malformed id can't even be bound, and would otherwise surface as a 500 from the controller.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdPathVariableInterceptor implements HandlerInterceptor {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null) {
+            return true;
+        }
+
+        for (Map.Entry<String, String> variable : pathVariables.entrySet()) {
+            String name = variable.getKey();
+            if ((name.equals("id") || name.endsWith("Id")) && !UuidStringType.isValid(variable.getValue())) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Invalid " + name));
+                return false;
+            }
+        }
+        return true;
+    }
+}
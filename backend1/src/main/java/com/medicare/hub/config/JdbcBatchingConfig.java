@@ -0,0 +1,26 @@
+package com.medicare.hub.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Groups inserts and updates per table into JDBC batches. Ids are generated in the application,
+ * so Hibernate never needs a round trip per row to learn them.
+ * spring.jpa.properties.hibernate.* in application.properties still override these.
+ */
+@Configuration
+public class JdbcBatchingConfig {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatching() {
+        return hibernateProperties -> {
+            hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE);
+            hibernateProperties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            hibernateProperties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.medicare.hub.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Latency distribution for the timers we alert on: HTTP endpoints (http.server.requests, which
+ * also matches the per-request SQL statement summary http.server.requests.sql),
+ * repository methods (spring.data.repository.invocations) and Cloudinary calls.
+ * Histogram buckets let Prometheus compute any quantile across instances; the client-side
+ * p50/p95/p99 are there for quick reads from /actuator/metrics.
+ * Hikari pool gauges (hikaricp.connections.active/idle/pending/timeout) are bound by Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> LATENCY_METRICS = List.of(
+            "http.server.requests",
+            "spring.data.repository.invocations",
+            "cloudinary."
+    );
+
+    @Bean
+    public MeterFilter latencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (LATENCY_METRICS.stream().noneMatch(id.getName()::startsWith)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
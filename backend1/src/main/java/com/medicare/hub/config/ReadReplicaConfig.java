@@ -0,0 +1,112 @@
+package com.medicare.hub.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, switched on by app.datasource.replica-urls (comma-separated JDBC urls).
+ * {@code @Transactional(readOnly = true)} work - the dashboard repositories, which are read-only
+ * at interface level, and inherited finders such as findById - goes to a replica, see
+ * {@link ReadReplicaDataSource}; everything else, including non-transactional statements and
+ * every read made by a write request ({@link ReadYourWritesFilter}), goes to the primary
+ * from spring.datasource.*. The second-level cached entities are the exception: their repositories
+ * load them in read-write transactions, so the cache is only ever filled from the primary.
+ * Each target has its own Hikari pool; replica pools take spring.datasource.hikari.* as well,
+ * with their own credentials and a short connection timeout so a dead replica fails over quickly.
+ * Without replica urls none of this is loaded and Spring Boot's single pool is used as before.
+ * <p>
+ * To try it locally, start a second Postgres (no replication needed, the lag check reports 0 on a
+ * server that isn't in recovery) and run with
+ * {@code --app.datasource.replica-urls=jdbc:postgresql://localhost:5434/healthcare}; add
+ * {@code --app.datasource.read-your-writes-ms=5000} to keep writers on the primary for 5 s.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaDataSource readReplicaDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${app.datasource.replica-username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${app.datasource.replica-password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${app.datasource.replica-connection-timeout-ms:1000}") long replicaConnectionTimeoutMs,
+            @Value("${app.datasource.replica-max-lag-ms:10000}") long maxLagMs) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(replicaUrls.get(i).trim());
+            config.setUsername(replicaUsername);
+            config.setPassword(replicaPassword);
+            config.setConnectionTimeout(replicaConnectionTimeoutMs);
+            // A replica that is down at startup is just out of rotation, not a failed boot
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        log.info("🔀 Routing read-only transactions to {} replica(s)", replicas.size());
+        return new ReadReplicaDataSource(primary, replicas, maxLagMs, meterRegistry);
+    }
+
+    // The target is picked when the first statement runs, by which time the transaction
+    // has published whether it is read-only
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaDataSource readReplicaDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaDataSource);
+    }
+
+    // Hibernate otherwise holds the first connection for the whole open-in-view session,
+    // so a write following a read in the same request would land on the replica
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // After the token filter, which identifies the user
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${app.datasource.read-your-writes-ms:0}") long windowMs) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(Duration.ofMillis(windowMs)));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+}
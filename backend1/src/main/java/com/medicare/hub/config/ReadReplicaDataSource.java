@@ -0,0 +1,142 @@
+package com.medicare.hub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes each connection request: read-only transactions get a replica, round-robin over the
+ * ones that passed their last health check; everything else gets the primary. Reads fall back
+ * to the primary when no replica is usable, when a replica refuses a connection, or when the
+ * caller is pinned by {@link ReadYourWritesFilter}.
+ * Only correct behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * Hibernate asks for the connection when the transaction begins, before Spring has published
+ * its read-only flag, and the proxy delays that until the first statement.
+ * A replica counts as down if it doesn't answer or is more than app.datasource.replica-max-lag-ms
+ * behind; it is put back as soon as a check passes again.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends AbstractDataSource implements Closeable {
+
+    // 0 when the replica has replayed everything it received (an idle primary is not lag),
+    // and also on a server that isn't in recovery, so two plain local instances work for testing
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END::bigint""";
+
+    private static final class Replica {
+        final HikariDataSource pool;
+        volatile boolean healthy = true;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+
+    public ReadReplicaDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                                 long maxLagMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.maxLagMs = maxLagMs;
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only connections served by the primary because no replica was usable")
+                .register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWritesFilter.isPinned()
+                || replicas.isEmpty()) {
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                // Don't wait for the next check, the other requests would hit the same timeout
+                replica.healthy = false;
+                log.warn("⚠️ Replica {} refused a connection, using the primary until it recovers: {}",
+                        replica.pool.getPoolName(), e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica credentials come from configuration");
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica-check-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy = probe(replica);
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("✅ Replica {} is back in rotation", replica.pool.getPoolName());
+                } else {
+                    log.warn("⚠️ Replica {} taken out of rotation", replica.pool.getPoolName());
+                }
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private boolean probe(Replica replica) {
+        try (Connection connection = replica.pool.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_SQL)) {
+            rs.next();
+            long lagMs = rs.getLong(1);
+            if (maxLagMs > 0 && lagMs > maxLagMs) {
+                log.debug("Replica {} is {} ms behind", replica.pool.getPoolName(), lagMs);
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            log.debug("Replica {} health check failed: {}", replica.pool.getPoolName(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+}
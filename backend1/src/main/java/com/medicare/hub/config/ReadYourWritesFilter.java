@@ -0,0 +1,70 @@
+package com.medicare.hub.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.medicare.hub.service.TokenService.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes for replica routing. Write requests (anything but GET/HEAD/OPTIONS) read from
+ * the primary, so a read-modify-write never starts from a lagging replica. With a window
+ * (app.datasource.read-your-writes-ms), a user's requests keep reading from the primary for that
+ * long after their last successful write, so a dashboard refreshed right after saving doesn't
+ * show the old data. The window only has to cover replication lag. Pins are per instance,
+ * which is fine as long as a user's requests stick to one instance.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    // null without a window: only the write requests themselves are pinned
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.recentWriters = window.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /** True while the current thread serves a request that must read from the primary. */
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        String userId = request.getAttribute(TokenAuthenticationFilter.AUTHENTICATED_USER)
+                instanceof AuthenticatedUser user ? user.id() : null;
+        boolean recentWriter = recentWriters != null && userId != null
+                && recentWriters.getIfPresent(userId) != null;
+
+        if (write || recentWriter) {
+            PINNED.set(Boolean.TRUE);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PINNED.remove();
+            if (write && recentWriters != null && userId != null && response.getStatus() < 400) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        }
+    }
+}
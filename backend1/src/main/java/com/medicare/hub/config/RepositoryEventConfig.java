@@ -0,0 +1,81 @@
+package com.medicare.hub.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emits a {@link FlightRecorderEvents.RepositoryCall} for every Spring Data repository method,
+ * by adding an interceptor to each repository proxy as it is built.
+ */
+@Configuration
+public class RepositoryEventConfig {
+
+    // static: BeanPostProcessors are created before regular beans
+    @Bean
+    public static BeanPostProcessor repositoryEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    interceptor(information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor interceptor(String repository) {
+        return invocation -> {
+            FlightRecorderEvents.RepositoryCall event = new FlightRecorderEvents.RepositoryCall();
+            event.begin();
+            Object result = null;
+            boolean failed = true;
+            try {
+                result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repository;
+                    event.method = invocation.getMethod().getName();
+                    event.rows = failed ? -1 : rows(result);
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer || result instanceof Long) {
+            // Modifying queries return the update count; count queries return the count
+            return ((Number) result).longValue();
+        }
+        if (result instanceof Iterable<?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,50 @@
+package com.medicare.hub.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Emits a {@link FlightRecorderEvents.Request} per /api request. Runs inside
+ * {@link SqlStatementCountFilter} so the event carries the request's statement count.
+ */
+public class RequestEventFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        FlightRecorderEvents.Request event = new FlightRecorderEvents.Request();
+        event.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                event.endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+                event.status = response.getStatus();
+                event.sqlStatements = SqlStatementCounter.current();
+
+                @SuppressWarnings("unchecked")
+                Map<String, String> pathVariables =
+                        (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+                if (pathVariables != null) {
+                    event.patientIdHash = FlightRecorderEvents.idHash(pathVariables.get("patientId"));
+                    event.doctorIdHash = FlightRecorderEvents.idHash(pathVariables.get("doctorId"));
+                }
+                event.commit();
+            }
+        }
+    }
+}
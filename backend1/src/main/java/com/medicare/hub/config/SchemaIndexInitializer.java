@@ -0,0 +1,29 @@
+package com.medicare.hub.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Creates the partial indexes in db/indexes.sql. Runs once the context is up,
+ * i.e. after ddl-auto has created the tables they refer to.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaIndexInitializer {
+
+    private final DataSource dataSource;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/indexes.sql")).execute(dataSource);
+        log.info("Partial indexes verified");
+    }
+}
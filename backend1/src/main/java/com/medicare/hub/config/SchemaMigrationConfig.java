@@ -0,0 +1,40 @@
+package com.medicare.hub.config;
+
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Runs the db/ scripts for what ddl-auto can't do: reshape tables created by older versions
+ * (it never changes a column's type, moves data, or drops a table) and create the tables
+ * that have no entity.
+ * Spring Boot runs script initializers before the EntityManagerFactory, i.e. before ddl-auto.
+ * Scripts run in order, every startup, so each must be idempotent.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    public DataSourceScriptDatabaseInitializer schemaMigrations(DataSource dataSource) {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(List.of(
+                // varchar ids to uuid
+                "classpath:db/uuid-columns.sql",
+                // patient_allergies into patient_health_data.allergies
+                "classpath:db/health-data-arrays.sql",
+                // purge job progress from a step count to a step name
+                "classpath:db/purge-job-steps.sql",
+                // vitals time series, JDBC only
+                "classpath:db/vitals.sql"));
+        settings.setMode(DatabaseInitializationMode.ALWAYS);
+        // Scripts go to the server whole: DO blocks are full of semicolons
+        settings.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        return new DataSourceScriptDatabaseInitializer(dataSource, settings);
+    }
+}
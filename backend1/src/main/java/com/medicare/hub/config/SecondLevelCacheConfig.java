@@ -0,0 +1,113 @@
+package com.medicare.hub.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache for the entities read on almost every request
+ * (User, PatientHealthData) and their finders, on Caffeine's JCache provider.
+ * Every region is created here with its own size and TTL; Hibernate is told to fail on any
+ * other region, so nothing ends up in an unbounded default cache.
+ * Per-region cache.gets{result=hit|miss} and cache.region.hit.ratio are published under cache=region.
+ * <p>
+ * Writes through Hibernate (save, JPQL and native updates that declare their tables) keep the
+ * regions correct by themselves. Writes through JdbcTemplate don't, and must evict through
+ * {@link com.medicare.hub.service.EntityCacheEvictor}.
+ * <p>
+ * The regions live in this JVM only and nothing invalidates them across instances: with more than
+ * one instance behind the load balancer, a write on one leaves the others serving the old User or
+ * PatientHealthData until the entry expires. Run a single instance, or replace Caffeine with a
+ * clustered JCache provider before scaling out.
+ * With read replicas ({@link ReadReplicaConfig}) the cached entities and their finders are loaded
+ * from the primary, so a lagging replica never puts an old row into a region.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USERS = "users";
+    public static final String USERS_BY_EMAIL = "users-by-email";
+    public static final String HEALTH_DATA = "patient-health-data";
+    public static final String HEALTH_DATA_BY_PATIENT = "health-data-by-patient";
+
+    // Hibernate's own regions: results of cacheable queries without a region, and the last
+    // write time of each table, which decides whether a cached query result is still valid
+    private static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.users.max-size:50000}") long usersMaxSize,
+            @Value("${app.cache.users.ttl-minutes:30}") long usersTtlMinutes,
+            @Value("${app.cache.health-data.max-size:20000}") long healthDataMaxSize,
+            @Value("${app.cache.health-data.ttl-minutes:30}") long healthDataTtlMinutes,
+            @Value("${app.cache.queries.max-size:50000}") long queriesMaxSize,
+            @Value("${app.cache.queries.ttl-minutes:10}") long queriesTtlMinutes) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // Own URI per application context: the provider shares managers by URI across the JVM
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("medicare-hub-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        Duration usersTtl = Duration.ofMinutes(usersTtlMinutes);
+        Duration healthDataTtl = Duration.ofMinutes(healthDataTtlMinutes);
+        Duration queriesTtl = Duration.ofMinutes(queriesTtlMinutes);
+
+        createRegion(cacheManager, meterRegistry, USERS, usersMaxSize, usersTtl);
+        createRegion(cacheManager, meterRegistry, USERS_BY_EMAIL, usersMaxSize, queriesTtl);
+        createRegion(cacheManager, meterRegistry, HEALTH_DATA, healthDataMaxSize, healthDataTtl);
+        createRegion(cacheManager, meterRegistry, HEALTH_DATA_BY_PATIENT, healthDataMaxSize, queriesTtl);
+        createRegion(cacheManager, meterRegistry, DEFAULT_QUERY_RESULTS, queriesMaxSize, queriesTtl);
+        // One entry per table; must never expire before the query results that depend on it
+        createRegion(cacheManager, meterRegistry, UPDATE_TIMESTAMPS, 10_000, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry,
+                                     String name, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttl != null) {
+            config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        // Hibernate already stores immutable entry snapshots, copying them again buys nothing
+        config.setStoreByValue(false);
+        config.setNativeStatisticsEnabled(true);
+
+        @SuppressWarnings("unchecked")
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache =
+                cacheManager.createCache(name, config).unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.region.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,76 @@
+package com.medicare.hub.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements each /api request runs and records them in the
+ * http.server.requests.sql summary, tagged like http.server.requests (method, uri pattern),
+ * so a dashboard can show statements per request next to latency.
+ * With app.sql-count.header=true the count is also returned in {@link #HEADER}, see
+ * {@link SqlStatementCountHeaderAdvice}.
+ * <p>
+ * An async request is counted across its dispatches: the count started on the first one is
+ * resumed on the async dispatch that writes the response, and recorded once, there.
+ */
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Count";
+
+    private static final String COUNT_ATTRIBUTE = SqlStatementCountFilter.class.getName() + ".COUNT";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AtomicInteger count = (AtomicInteger) request.getAttribute(COUNT_ATTRIBUTE);
+        if (count == null) {
+            count = SqlStatementCounter.start();
+            request.setAttribute(COUNT_ATTRIBUTE, count);
+        } else {
+            SqlStatementCounter.resume(count);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.stop();
+            // Still running on another thread: the async dispatch records it
+            if (!request.isAsyncStarted()) {
+                record(request, count.get());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int statements) {
+        // Unmatched paths share one tag so 404 scans can't blow up the series count
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.sql")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
@@ -0,0 +1,36 @@
+package com.medicare.hub.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Dev only (app.sql-count.header=true): puts the statement count of the request into the
+ * X-SQL-Count response header. Runs just before the body is written, while headers can
+ * still be set, so it covers everything the controller did.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "app.sql-count.header", havingValue = "true")
+public class SqlStatementCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int statements = SqlStatementCounter.current();
+        if (statements >= 0) {
+            response.getHeaders().set(SqlStatementCountFilter.HEADER, Integer.toString(statements));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,90 @@
+package com.medicare.hub.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()}
+ * and {@link #stop()}; {@link SqlStatementCountFilter} brackets every /api request with them.
+ * Statements issued through JdbcTemplate bypass Hibernate and are not counted.
+ * <p>
+ * Async requests (login, register, bulk provisioning return a CompletableFuture) run their
+ * statements on other threads. The count follows the work there: as the TaskDecorator of
+ * Spring's applicationTaskExecutor, and through {@link #propagating(Executor)} for the password
+ * hashing pool, each task counts into the count of the thread that submitted it.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer, TaskDecorator {
+
+    private static final ThreadLocal<AtomicInteger> COUNT = new ThreadLocal<>();
+
+    public static AtomicInteger start() {
+        AtomicInteger count = new AtomicInteger();
+        COUNT.set(count);
+        return count;
+    }
+
+    // Continue a count started on another thread, e.g. in the async dispatch of the same request
+    public static void resume(AtomicInteger count) {
+        COUNT.set(count);
+    }
+
+    /** Statements so far, or -1 if this thread isn't counting. */
+    public static int current() {
+        AtomicInteger count = COUNT.get();
+        return count != null ? count.get() : -1;
+    }
+
+    public static int stop() {
+        int statements = current();
+        COUNT.remove();
+        return statements;
+    }
+
+    // Tasks run on the executor count into the count of the thread that submits them
+    public static Executor propagating(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        return wrap(task);
+    }
+
+    private static Runnable wrap(Runnable task) {
+        AtomicInteger count = COUNT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = COUNT.get();
+            COUNT.set(count);
+            try {
+                task.run();
+            } finally {
+                COUNT.set(previous);
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = COUNT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
@@ -15,17 +15,31 @@ public class WebConfig implements WebMvcConfigurer {
     }
 }*/
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medicare.hub.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
-public class WebConfig {
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
 
+    private final IdPathVariableInterceptor idPathVariableInterceptor;
+    private final AccessGrantInterceptor accessGrantInterceptor;
+
+    // CORS runs first so that 401/403 responses from the token filter still carry CORS headers
     @Bean
-    public CorsFilter corsFilter() {
+    public FilterRegistrationBean<CorsFilter> corsFilter() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         CorsConfiguration config = new CorsConfiguration();
 
@@ -35,6 +49,42 @@ public class WebConfig {
         config.addAllowedMethod("*");
 
         source.registerCorsConfiguration("/**", config);
-        return new CorsFilter(source);
+        FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(new CorsFilter(source));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<TokenAuthenticationFilter> tokenAuthenticationFilter(
+            TokenService tokenService,
+            ObjectMapper objectMapper,
+            @Value("${app.security.require-token:true}") boolean requireToken) {
+        FilterRegistrationBean<TokenAuthenticationFilter> registration = new FilterRegistrationBean<>(
+                new TokenAuthenticationFilter(tokenService, objectMapper, requireToken));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementCountFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestEventFilter> requestEventFilter() {
+        FilterRegistrationBean<RequestEventFilter> registration = new FilterRegistrationBean<>(new RequestEventFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(idPathVariableInterceptor)
+                .addPathPatterns("/api/**");
+        registry.addInterceptor(accessGrantInterceptor)
+                .addPathPatterns("/api/doctor/*/patient/*/**");
     }
 }
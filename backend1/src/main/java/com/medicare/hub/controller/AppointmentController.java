@@ -1,9 +1,10 @@
 package com.medicare.hub.controller;
 
-import com.medicare.hub.dto.ApiResponse;
-import com.medicare.hub.dto.AppointmentRequest;
+import com.medicare.hub.dto.*;
 import com.medicare.hub.model.*;
 import com.medicare.hub.repository.*;
+import com.medicare.hub.service.UserDirectory;
+import com.medicare.hub.service.UserDirectory.CachedUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -23,7 +24,7 @@ import java.util.stream.Collectors;
 public class AppointmentController {
 
     private final AppointmentRepository appointmentRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
 
     @PostMapping("/patient/{patientId}/appointments/request")
     public ResponseEntity<?> requestAppointment(
@@ -33,20 +34,19 @@ public class AppointmentController {
         log.info("📅 Appointment request from patient: {} to doctor: {}", patientId, request.getDoctorId());
 
         try {
-            Optional<User> patientOpt = userRepository.findById(patientId);
-            if (patientOpt.isEmpty() || !patientOpt.get().getRole().equals("Patient")) {
+            Optional<CachedUser> patientOpt = userDirectory.get(patientId);
+            if (patientOpt.isEmpty() || !patientOpt.get().hasRole("Patient")) {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("Invalid patient ID"));
             }
 
-            Optional<User> doctorOpt = userRepository.findById(request.getDoctorId());
-            if (doctorOpt.isEmpty() || !doctorOpt.get().getRole().equals("Doctor")) {
+            Optional<CachedUser> doctorOpt = userDirectory.get(request.getDoctorId());
+            if (doctorOpt.isEmpty() || !doctorOpt.get().hasRole("Doctor")) {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("Invalid doctor ID"));
             }
 
             Appointment appointment = new Appointment();
-            appointment.setId(UUID.randomUUID().toString());
             appointment.setPatientId(patientId);
             appointment.setDoctorId(request.getDoctorId());
             appointment.setAppointmentDate(request.getAppointmentDate());
@@ -62,11 +62,7 @@ public class AppointmentController {
             log.info("✅ Appointment created: {}", appointment.getId());
 
             return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(Map.of(
-                            "success", true,
-                            "message", "Appointment request sent successfully",
-                            "appointmentId", appointment.getId()
-                    ));
+                    .body(new AppointmentCreatedResponse(appointment.getId()));
 
         } catch (Exception e) {
             log.error("❌ Appointment request error:", e);
@@ -81,31 +77,20 @@ public class AppointmentController {
 
         try {
             List<Appointment> appointments = appointmentRepository.findByPatientIdOrderByCreatedAtDesc(patientId);
+            Map<String, CachedUser> doctors = userDirectory.getAll(appointments.stream()
+                    .map(Appointment::getDoctorId)
+                    .collect(Collectors.toSet()));
 
-            List<Map<String, Object>> enrichedAppointments = appointments.stream()
+            List<PatientAppointment> enrichedAppointments = appointments.stream()
                     .map(apt -> {
-                        Map<String, Object> map = new HashMap<>();
-                        map.put("id", apt.getId());
-                        map.put("appointmentDate", apt.getAppointmentDate());
-                        map.put("appointmentTime", apt.getAppointmentTime());
-                        map.put("status", apt.getStatus());
-                        map.put("type", apt.getType());
-                        map.put("reason", apt.getReason());
-                        map.put("notes", apt.getNotes());
-
-                        userRepository.findById(apt.getDoctorId()).ifPresent(doctor -> {
-                            map.put("doctorName", doctor.getName());
-                        });
-
-                        return map;
+                        CachedUser doctor = doctors.get(apt.getDoctorId());
+                        return new PatientAppointment(apt.getId(), apt.getAppointmentDate(),
+                                apt.getAppointmentTime(), apt.getStatus(), apt.getType(), apt.getReason(),
+                                apt.getNotes(), doctor != null ? doctor.name() : null);
                     })
                     .collect(Collectors.toList());
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "count", enrichedAppointments.size(),
-                    "appointments", enrichedAppointments
-            ));
+            return ResponseEntity.ok(new AppointmentsResponse<>(enrichedAppointments));
 
         } catch (Exception e) {
             log.error("❌ Error fetching patient appointments:", e);
@@ -122,18 +107,9 @@ public class AppointmentController {
             LocalDate today = LocalDate.now();
 
             List<Appointment> allAppointments = appointmentRepository.findByDoctorIdOrderByAppointmentDateAsc(doctorId);
-            List<Appointment> todayAppointments = allAppointments.stream()
-                    .filter(apt -> apt.getAppointmentDate().equals(today))
-                    .filter(apt -> apt.getStatus().equals("accepted"))
-                    .collect(Collectors.toList());
-
-            List<Map<String, Object>> enrichedAppointments = enrichAppointmentsWithPatientInfo(todayAppointments);
+            List<Appointment> todayAppointments = acceptedOn(allAppointments, today);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "count", enrichedAppointments.size(),
-                    "appointments", enrichedAppointments
-            ));
+            return ResponseEntity.ok(new AppointmentsResponse<>(enrichAppointmentsWithPatientInfo(todayAppointments)));
 
         } catch (Exception e) {
             log.error("❌ Error fetching today's appointments:", e);
@@ -150,19 +126,9 @@ public class AppointmentController {
             LocalDate today = LocalDate.now();
 
             List<Appointment> allAppointments = appointmentRepository.findByDoctorIdOrderByAppointmentDateAsc(doctorId);
-            List<Appointment> upcomingAppointments = allAppointments.stream()
-                    .filter(apt -> apt.getAppointmentDate().isAfter(today) || apt.getAppointmentDate().equals(today))
-                    .filter(apt -> !apt.getStatus().equals("rejected") && !apt.getStatus().equals("completed"))
-                    .limit(10)
-                    .collect(Collectors.toList());
-
-            List<Map<String, Object>> enrichedAppointments = enrichAppointmentsWithPatientInfo(upcomingAppointments);
+            List<Appointment> upcomingAppointments = upcoming(allAppointments, today, 10);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "count", enrichedAppointments.size(),
-                    "appointments", enrichedAppointments
-            ));
+            return ResponseEntity.ok(new AppointmentsResponse<>(enrichAppointmentsWithPatientInfo(upcomingAppointments)));
 
         } catch (Exception e) {
             log.error("❌ Error fetching upcoming appointments:", e);
@@ -198,10 +164,7 @@ public class AppointmentController {
 
             log.info("✅ Appointment accepted successfully");
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "Appointment accepted successfully"
-            ));
+            return ResponseEntity.ok(new MessageResponse("Appointment accepted successfully"));
 
         } catch (Exception e) {
             log.error("❌ Error accepting appointment:", e);
@@ -237,10 +200,7 @@ public class AppointmentController {
 
             log.info("❌ Appointment rejected");
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "Appointment rejected"
-            ));
+            return ResponseEntity.ok(new MessageResponse("Appointment rejected"));
 
         } catch (Exception e) {
             log.error("❌ Error rejecting appointment:", e);
@@ -277,10 +237,7 @@ public class AppointmentController {
 
             log.info("✓ Appointment marked as completed");
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "Appointment completed successfully"
-            ));
+            return ResponseEntity.ok(new MessageResponse("Appointment completed successfully"));
 
         } catch (Exception e) {
             log.error("❌ Error completing appointment:", e);
@@ -289,24 +246,35 @@ public class AppointmentController {
         }
     }
 
-    private List<Map<String, Object>> enrichAppointmentsWithPatientInfo(List<Appointment> appointments) {
+    // The helpers below are package-private so the JMH benchmarks in backend1/benchmarks can call them
+
+    static List<Appointment> acceptedOn(List<Appointment> appointments, LocalDate day) {
+        return appointments.stream()
+                .filter(apt -> apt.getAppointmentDate().equals(day))
+                .filter(apt -> apt.getStatus().equals("accepted"))
+                .collect(Collectors.toList());
+    }
+
+    static List<Appointment> upcoming(List<Appointment> appointments, LocalDate today, int limit) {
+        return appointments.stream()
+                .filter(apt -> apt.getAppointmentDate().isAfter(today) || apt.getAppointmentDate().equals(today))
+                .filter(apt -> !apt.getStatus().equals("rejected") && !apt.getStatus().equals("completed"))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    List<DoctorAppointment> enrichAppointmentsWithPatientInfo(List<Appointment> appointments) {
+        Map<String, CachedUser> patients = userDirectory.getAll(appointments.stream()
+                .map(Appointment::getPatientId)
+                .collect(Collectors.toSet()));
+
         return appointments.stream()
                 .map(apt -> {
-                    Map<String, Object> map = new HashMap<>();
-                    map.put("id", apt.getId());
-                    map.put("appointmentDate", apt.getAppointmentDate());
-                    map.put("time", apt.getAppointmentTime().toString());
-                    map.put("period", apt.getAppointmentTime().getHour() < 12 ? "AM" : "PM");
-                    map.put("status", apt.getStatus());
-                    map.put("type", apt.getType());
-                    map.put("reason", apt.getReason());
-
-                    userRepository.findById(apt.getPatientId()).ifPresent(patient -> {
-                        map.put("patientName", patient.getName());
-                        map.put("patientId", patient.getId());
-                    });
-
-                    return map;
+                    CachedUser patient = patients.get(apt.getPatientId());
+                    return new DoctorAppointment(apt.getId(), apt.getAppointmentDate(),
+                            apt.getAppointmentTime().toString(), apt.getAppointmentTime().getHour() < 12 ? "AM" : "PM",
+                            apt.getStatus(), apt.getType(), apt.getReason(),
+                            patient != null ? patient.name() : null, patient != null ? patient.id() : null);
                 })
                 .collect(Collectors.toList());
     }
@@ -2,16 +2,32 @@ package com.medicare.hub.controller;
 
 import com.medicare.hub.dto.*;
 import com.medicare.hub.model.User;
+import com.medicare.hub.model.UuidV7Generator;
 import com.medicare.hub.repository.UserRepository;
+import com.medicare.hub.config.TokenAuthenticationFilter;
+import com.medicare.hub.service.DoctorDirectory;
+import com.medicare.hub.service.PasswordHashingService;
+import com.medicare.hub.service.TokenService;
+import com.medicare.hub.service.UserDirectory;
+import com.medicare.hub.service.UserProvisioningService;
+import com.medicare.hub.service.TokenService.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -20,87 +36,172 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthController {
 
+    // Admins come from bulk provisioning or the startup seed, never from sign-up
+    private static final Set<String> SELF_REGISTER_ROLES = Set.of("Patient", "Doctor");
+
     private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenService tokenService;
+    private final UserDirectory userDirectory;
+    private final DoctorDirectory doctorDirectory;
+    private final UserProvisioningService userProvisioningService;
+    // Spring Boot's task executor; database work after hashing runs here, not on the hashing pool
+    private final Executor applicationTaskExecutor;
+
+    @Value("${app.provisioning.max-rows:10000}")
+    private int maxProvisionRows;
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterRequest request) {
         log.info("📝 Registration attempt: {}, {}", request.getName(), request.getEmail());
 
         try {
             if (request.getName() == null || request.getEmail() == null ||
                 request.getPassword() == null || request.getRole() == null ) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("All fields are requied"));
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                        .body(ApiResponse.error("All fields are requied")));
             }
-            Optional<User> existingUser = userRepository.findByEmail(request.getEmail());
-            if (existingUser.isPresent()) {
-                log.warn("⚠️ User already exists: {}", request.getEmail());
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("User with this email already exists"));
+            if (!SELF_REGISTER_ROLES.contains(request.getRole())) {
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Role must be Patient or Doctor")));
             }
-            User user = new User();
-            user.setId(UUID.randomUUID().toString());
-            user.setName(request.getName());
-            user.setEmail(request.getEmail());
-            user.setPassword(request.getPassword());
-            user.setRole(request.getRole());
-            user.setCreatedAt(LocalDateTime.now());
-
-            userRepository.save(user);
-
-            log.info("✅ User created: {}",request.getEmail());
-
-            UserResponse userResponse = new UserResponse(
-                    user.getId(), user.getName(), user.getEmail(), user.getRole()
-            );
-
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(new Object() {
-                        public boolean success = true;
-                        public String message = "User registered successfully";
-                        public UserResponse user = userResponse;
-                    });
         } catch (Exception e) {
             log.error("❌ Registration error:", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Server error during registration"));
+            return CompletableFuture.completedFuture(serverError("Server error during registration"));
+        }
+
+        // Hash off the request thread, then insert; the unique index on email settles concurrent sign-ups
+        return passwordHashingService.hash(request.getPassword())
+                .<ResponseEntity<?>>thenApplyAsync(hashedPassword -> {
+                    User user = new User();
+                    user.setId(UuidV7Generator.next());
+                    user.setName(request.getName());
+                    user.setEmail(request.getEmail());
+                    user.setPassword(hashedPassword);
+                    user.setRole(request.getRole());
+                    user.setCreatedAt(LocalDateTime.now());
+
+                    int inserted = userRepository.insertIfEmailFree(user.getId(), user.getName(), user.getEmail(),
+                            user.getPassword(), user.getRole(), user.getHospitalName(), user.getCreatedAt());
+                    if (inserted == 0) {
+                        log.warn("⚠️ User already exists: {}", request.getEmail());
+                        return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body(ApiResponse.error("User with this email already exists"));
+                    }
+                    userDirectory.put(user);
+                    doctorDirectory.upsert(user);
+
+                    log.info("✅ User created: {}",request.getEmail());
+
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .body(new RegisterResponse(tokenService.issue(user), UserResponse.from(user)));
+                }, applicationTaskExecutor)
+                .exceptionally(e -> failure(e, "Server error during registration"));
+    }
+
+    @PostMapping("/admin/users/bulk")
+    public CompletableFuture<ResponseEntity<?>> provisionUsers(@RequestBody List<ProvisionUserRequest> rows) {
+        if (rows.isEmpty() || rows.size() > maxProvisionRows) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Between 1 and " + maxProvisionRows + " users per request")));
         }
+        log.info("👥 Bulk provisioning {} users", rows.size());
+
+        return userProvisioningService.provision(rows)
+                .<ResponseEntity<?>>thenApply(results -> {
+                    Map<String, Long> byStatus = results.stream()
+                            .collect(Collectors.groupingBy(ProvisionResult::status, Collectors.counting()));
+                    log.info("✅ Bulk provisioning done: {}", byStatus);
+
+                    return ResponseEntity.ok(new ProvisionResponse(byStatus, results));
+                })
+                .exceptionally(e -> failure(e, "Server error during provisioning"));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request) {
         log.info("🔑 Login attempt: {}", request.getEmail());
 
+        Optional<User> userOpt;
         try {
             if (request.getEmail() == null || request.getPassword() == null) {
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("Email and password are required"));
-            }
-            Optional<User> userOpt = userRepository.findByEmailAndPassword(
-                    request.getEmail(), request.getPassword()
-            );
-            if (userOpt.isEmpty()) {
-                log.warn("⚠️ Invalid credentials for: {}", request.getEmail());
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(ApiResponse.error("Invalid email or password"));
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Email and password are required")));
             }
+            userOpt = userRepository.findByEmail(request.getEmail());
+        } catch (Exception e) {
+            log.error("❌ Login error:", e);
+            return CompletableFuture.completedFuture(serverError("Server error during login"));
+        }
 
-            User user = userOpt.get();
-            log.info("✅ Login successful: {}", request.getEmail());
+        if (userOpt.isEmpty() || userOpt.get().isDeleted()) {
+            // Still pay for a BCrypt check, so response time doesn't reveal which emails are registered
+            return passwordHashingService.matchesNone(request.getPassword())
+                    .<ResponseEntity<?>>thenApply(matches -> invalidCredentials(request.getEmail()))
+                    .exceptionally(e -> failure(e, "Server error during login"));
+        }
+        User user = userOpt.get();
+
+        return passwordHashingService.matches(request.getPassword(), user.getPassword())
+                .<ResponseEntity<?>>thenCompose(matches -> {
+                    if (!matches) {
+                        return CompletableFuture.completedFuture(invalidCredentials(request.getEmail()));
+                    }
+                    log.info("✅ Login successful: {}", request.getEmail());
+
+                    if (!passwordHashingService.needsRehash(user.getPassword())) {
+                        return CompletableFuture.completedFuture(loginSuccess(user));
+                    }
+                    // Legacy plaintext or outdated cost factor: upgrade the stored hash, but never fail the login over it
+                    return passwordHashingService.hash(request.getPassword())
+                            .<ResponseEntity<?>>thenApplyAsync(hashedPassword -> {
+                                user.setPassword(hashedPassword);
+                                userRepository.save(user);
+                                log.info("🔐 Password rehashed for: {}", request.getEmail());
+                                return loginSuccess(user);
+                            }, applicationTaskExecutor)
+                            .exceptionally(e -> {
+                                log.warn("⚠️ Password rehash skipped for {}: {}", request.getEmail(), e.getMessage());
+                                return loginSuccess(user);
+                            });
+                })
+                .exceptionally(e -> failure(e, "Server error during login"));
+    }
 
-            UserResponse userResponse = new UserResponse(
-                    user.getId(), user.getName(), user.getEmail(), user.getRole()
-            );
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestAttribute(name = TokenAuthenticationFilter.AUTHENTICATED_USER, required = false) AuthenticatedUser user) {
+        if (user != null) {
+            tokenService.revoke(user);
+            log.info("👋 Logged out: {}", user.id());
+        }
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
 
-            return ResponseEntity.ok(new Object() {
-                public boolean success = true;
-                public UserResponse userData = userResponse;
-            });
+    private ResponseEntity<?> loginSuccess(User user) {
+        return ResponseEntity.ok(new LoginResponse(tokenService.issue(user), UserResponse.from(user)));
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Login error:", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("Server error during login"));
+    private ResponseEntity<?> invalidCredentials(String email) {
+        log.warn("⚠️ Invalid credentials for: {}", email);
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.error("Invalid email or password"));
+    }
+
+    // Hashing pool full -> 503 so clients back off; anything else is a 500
+    private ResponseEntity<?> failure(Throwable e, String message) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RejectedExecutionException) {
+            log.warn("⚠️ Password hashing pool saturated");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("Server is busy, please try again"));
         }
+        log.error("❌ {}:", message, cause);
+        return serverError(message);
+    }
+
+    private ResponseEntity<?> serverError(String message) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error(message));
     }
 }
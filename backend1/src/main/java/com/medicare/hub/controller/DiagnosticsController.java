@@ -0,0 +1,93 @@
+package com.medicare.hub.controller;
+
+import com.medicare.hub.dto.ApiResponse;
+import com.medicare.hub.dto.FlightRecordingResponse;
+import com.medicare.hub.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+@CrossOrigin(origins = "http://localhost:5173")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final FlightRecordingService flightRecordingService;
+
+    // Starts a recording and returns right away; poll /recording/{number}, then download /recording/{number}/file
+    @PostMapping("/recording")
+    public ResponseEntity<?> record(@RequestParam(defaultValue = "30") int seconds) {
+        if (seconds < 1 || seconds > flightRecordingService.maxSeconds()) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("seconds must be between 1 and " + flightRecordingService.maxSeconds()));
+        }
+        try {
+            Optional<FlightRecordingService.Status> statusOpt = flightRecordingService.start(seconds);
+            if (statusOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("A recording is already running"));
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(FlightRecordingResponse.from(statusOpt.get()));
+        } catch (Exception e) {
+            log.error("❌ Flight recording failed to start:", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to record"));
+        }
+    }
+
+    @GetMapping("/recording/{number}")
+    public ResponseEntity<?> recordingStatus(@PathVariable long number) {
+        return flightRecordingService.status(number)
+                .<ResponseEntity<?>>map(status -> ResponseEntity.ok(FlightRecordingResponse.from(status)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Recording not found")));
+    }
+
+    // Open the file in JDK Mission Control; it stays downloadable until the next recording starts
+    @GetMapping("/recording/{number}/file")
+    public ResponseEntity<?> downloadRecording(@PathVariable long number) {
+        Optional<FlightRecordingService.Status> statusOpt = flightRecordingService.status(number);
+        if (statusOpt.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Recording not found"));
+        }
+        Optional<Path> fileOpt = flightRecordingService.file(number);
+        if (fileOpt.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Recording still running until " + statusOpt.get().endsAt()));
+        }
+
+        try {
+            Path file = fileOpt.get();
+            String started = LocalDateTime.ofInstant(statusOpt.get().startedAt(), ZoneId.systemDefault())
+                    .format(FILE_TIMESTAMP);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(Files.size(file))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"medicare-hub-" + started + ".jfr\"")
+                    .body(new InputStreamResource(Files.newInputStream(file)));
+        } catch (Exception e) {
+            log.error("❌ Flight recording download failed:", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to read recording"));
+        }
+    }
+}
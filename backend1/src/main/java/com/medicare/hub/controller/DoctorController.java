@@ -1,8 +1,11 @@
 package com.medicare.hub.controller;
 
-import com.medicare.hub.dto.ApiResponse;
+import com.medicare.hub.dto.*;
 import com.medicare.hub.model.*;
 import com.medicare.hub.repository.*;
+import com.medicare.hub.service.UserDirectory;
+import com.medicare.hub.service.UserDirectory.CachedUser;
+import com.medicare.hub.service.VitalsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -21,12 +24,13 @@ import java.util.stream.Collectors;
 public class DoctorController {
 
     private final AppointmentRepository appointmentRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
     private final LabResultRepository labResultRepository;
     private final DoctorTaskRepository doctorTaskRepository;
     private final PatientHealthDataRepository patientHealthDataRepository;
     private final MedicalRecordRepository medicalRecordRepository;
     private final PrescriptionRepository prescriptionRepository;
+    private final VitalsService vitalsService;
 
     // ============================================
     // NEW PATIENTS
@@ -46,24 +50,29 @@ public class DoctorController {
                     .filter(apt -> "New Patient".equals(apt.getType()))
                     .collect(Collectors.toList());
 
-            List<Map<String, Object>> newPatients = recentAppointments.stream()
+            Map<String, CachedUser> users = userDirectory.getAll(recentAppointments.stream()
+                    .map(Appointment::getPatientId)
+                    .collect(Collectors.toSet()));
+
+            // Appointments whose patient has since been deleted are skipped, but not silently
+            List<String> orphaned = recentAppointments.stream()
+                    .filter(apt -> !users.containsKey(apt.getPatientId()))
+                    .map(Appointment::getId)
+                    .toList();
+            if (!orphaned.isEmpty()) {
+                log.warn("⚠️ Skipping {} new-patient appointment(s) of doctor {} whose patient no longer exists: {}",
+                        orphaned.size(), doctorId, orphaned);
+            }
+
+            List<NewPatient> newPatients = recentAppointments.stream()
+                    .filter(apt -> users.containsKey(apt.getPatientId()))
                     .map(apt -> {
-                        Map<String, Object> patient = new HashMap<>();
-                        userRepository.findById(apt.getPatientId()).ifPresent(user -> {
-                            patient.put("id", user.getId());
-                            patient.put("name", user.getName());
-                            patient.put("email", user.getEmail());
-                            patient.put("appointmentDate", apt.getAppointmentDate());
-                        });
-                        return patient;
+                        CachedUser user = users.get(apt.getPatientId());
+                        return new NewPatient(user.id(), user.name(), user.email(), apt.getAppointmentDate());
                     })
                     .collect(Collectors.toList());
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "count", newPatients.size(),
-                    "patients", newPatients
-            ));
+            return ResponseEntity.ok(new NewPatientsResponse(newPatients));
 
         } catch (Exception e) {
             log.error("❌ Error fetching new patients:", e);
@@ -87,7 +96,8 @@ public class DoctorController {
                     .map(Appointment::getPatientId)
                     .collect(Collectors.toSet());
 
-            List<Map<String, Object>> pendingResults = new ArrayList<>();
+            Map<String, CachedUser> patients = userDirectory.getAll(patientIds);
+            List<PendingLabResult> pendingResults = new ArrayList<>();
 
             for (String patientId : patientIds) {
                 List<LabResult> labResults = labResultRepository
@@ -95,29 +105,19 @@ public class DoctorController {
                 labResults.stream()
                         .limit(3)
                         .forEach(lab -> {
-                            Map<String, Object> result = new HashMap<>();
-                            result.put("id", lab.getId());
-                            result.put("testName", lab.getReport() != null ? lab.getReport() : "Lab Test");
-                            result.put("status", getRandomStatus());
-                            result.put("date", lab.getLabResultDate());
-
-                            userRepository.findById(patientId).ifPresent(patient -> {
-                                result.put("patientName", patient.getName());
-                            });
-
-                            pendingResults.add(result);
+                            CachedUser patient = patients.get(patientId);
+                            pendingResults.add(new PendingLabResult(lab.getId(),
+                                    lab.getReport() != null ? lab.getReport() : "Lab Test",
+                                    getRandomStatus(), lab.getLabResultDate(),
+                                    patient != null ? patient.name() : null));
                         });
             }
 
-            List<Map<String, Object>> limitedResults = pendingResults.stream()
+            List<PendingLabResult> limitedResults = pendingResults.stream()
                     .limit(10)
                     .collect(Collectors.toList());
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "count", limitedResults.size(),
-                    "results", limitedResults
-            ));
+            return ResponseEntity.ok(new PendingLabResultsResponse(limitedResults));
 
         } catch (Exception e) {
             log.error("❌ Error fetching lab results:", e);
@@ -138,11 +138,7 @@ public class DoctorController {
             List<DoctorTask> tasks = doctorTaskRepository
                     .findByDoctorIdOrderByCompletedAscCreatedAtDesc(doctorId);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "count", tasks.size(),
-                    "tasks", tasks
-            ));
+            return ResponseEntity.ok(new DoctorTasksResponse(tasks.stream().map(DoctorTaskResponse::from).toList()));
 
         } catch (Exception e) {
             log.error("❌ Error fetching tasks:", e);
@@ -176,10 +172,7 @@ public class DoctorController {
             task.setCompletedAt(LocalDateTime.now());
             doctorTaskRepository.save(task);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "Task completed successfully"
-            ));
+            return ResponseEntity.ok(new MessageResponse("Task completed successfully"));
 
         } catch (Exception e) {
             log.error("❌ Error completing task:", e);
@@ -189,9 +182,8 @@ public class DoctorController {
     }
 
     // ============================================
-    // PATIENT OVERVIEW (SIMPLIFIED - FROM HEALTH DATA)
+    // PATIENT OVERVIEW (HEALTH DATA + LATEST VITALS)
     // ============================================
-    /*
     @GetMapping("/{doctorId}/patient/{patientId}/overview")
     public ResponseEntity<?> getPatientOverview(
             @PathVariable String doctorId,
@@ -200,68 +192,37 @@ public class DoctorController {
         log.info("Fetching patient overview for patient: {}", patientId);
 
         try {
-            Optional<User> patientOpt = userRepository.findById(patientId);
-            if (patientOpt.isEmpty() || !patientOpt.get().getRole().equals("Patient")) {
+            Optional<CachedUser> patientOpt = userDirectory.get(patientId);
+            if (patientOpt.isEmpty() || !patientOpt.get().hasRole("Patient")) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Patient not found"));
             }
 
-            User patient = patientOpt.get();
-
-            Map<String, Object> overview = new HashMap<>();
-            overview.put("name", patient.getName());
-            overview.put("id", patient.getId());
-            overview.put("", patient.getAge());
-
-            // Get from patient_health_data table
-            Optional<PatientHealthData> healthDataOpt = patientHealthDataRepository.findByPatientId(patientId);
-
-            if (healthDataOpt.isPresent()) {
-                PatientHealthData healthData = healthDataOpt.get();
-                overview.put("age", healthData.getAge());
-                overview.put("condition", healthData.getCondition());
-                overview.put("lastVisit", healthData.getLastVisit());
-                overview.put("medications", stringToList(String.valueOf(healthData.getMedications())));
-                overview.put("allergies", stringToList(String.valueOf(healthData.getAllergies())));
-            } else {
-                // Default values if no health data
-                overview.put("age", null);
-                overview.put("condition", "Not specified");
-                overview.put("lastVisit", null);
-                overview.put("medications", Arrays.asList());
-                overview.put("allergies", Arrays.asList());
-            }
+            CachedUser patient = patientOpt.get();
 
-            // Mock vitals (can be added to health_data table if needed)
-            Map<String, Integer> bp = new HashMap<>();
-            bp.put("systolic", 138);
-            bp.put("diastolic", 85);
-            overview.put("bloodPressure", bp);
-            overview.put("heartRate", 78);
+            // Get from patient_health_data table; its age wins over the profile's
+            Optional<PatientHealthData> healthData = patientHealthDataRepository.findByPatientId(patientId);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "patient", overview
-            ));
+            PatientOverview overview = new PatientOverview(
+                    patient.id(), patient.name(),
+                    healthData.map(PatientHealthData::getAge).orElse(patient.age()),
+                    healthData.map(PatientHealthData::getCondition).orElse("Not specified"),
+                    healthData.map(PatientHealthData::getLastVisit).orElse(null),
+                    orEmpty(healthData.map(PatientHealthData::getMedications).orElse(null)),
+                    orEmpty(healthData.map(PatientHealthData::getAllergies).orElse(null)),
+                    vitalsService.latest(patientId));
+
+            return ResponseEntity.ok(new PatientOverviewResponse(overview));
 
         } catch (Exception e) {
             log.error("❌ Error fetching patient overview:", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to fetch patient overview"));
         }
-    }*/
-
-    private List<String> stringToList(String input) {
-        if (input == null || input.isEmpty()) {
-            return new ArrayList<>();
-        }
+    }
 
-        List<String> result = new ArrayList<>();
-        String[] parts = input.split(",");
-        for (String part : parts) {
-            result.add(part.trim());
-        }
-        return result;
+    private static List<String> orEmpty(List<String> values) {
+        return values != null ? values : List.of();
     }
 
     // ============================================
@@ -276,59 +237,46 @@ public class DoctorController {
         log.info("📄 Fetching full details for patient: {}", patientId);
 
         try {
-            Optional<User> patientOpt = userRepository.findById(patientId);
+            Optional<CachedUser> patientOpt = userDirectory.get(patientId);
             if (patientOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Patient not found"));
             }
 
-            User patient = patientOpt.get();
-            Map<String, Object> fullDetails = new HashMap<>();
-
-            // Basic info
-            fullDetails.put("id", patient.getId());
-            fullDetails.put("name", patient.getName());
-            fullDetails.put("email", patient.getEmail());
-            fullDetails.put("age", patient.getAge());
-            //fullDetails.put("lastVisit", );
-
-            // Health data
-            patientHealthDataRepository.findByPatientId(patientId).ifPresent(healthData -> {
-                fullDetails.put("age", healthData.getAge());
-                fullDetails.put("condition", healthData.getCondition());
-                fullDetails.put("lastVisit", healthData.getLastVisit());
-                fullDetails.put("medications", healthData.getMedications());
-                fullDetails.put("allergies", healthData.getAllergies());
-            });
+            CachedUser patient = patientOpt.get();
+
+            // Health data; its age wins over the profile's
+            Optional<PatientHealthData> healthData = patientHealthDataRepository.findByPatientId(patientId);
 
             // Medical records
             List<MedicalRecord> medicalRecords = medicalRecordRepository
                     .findByPatientIdOrderByCreatedAtDesc(patientId);
-            fullDetails.put("medicalRecords", medicalRecords);
-            fullDetails.put("medicalRecordsCount", medicalRecords.size());
 
             // Prescriptions
             List<Prescription> prescriptions = prescriptionRepository
                     .findByPatientIdOrderByCreatedAtDesc(patientId);
-            fullDetails.put("prescriptions", prescriptions);
-            fullDetails.put("prescriptionsCount", prescriptions.size());
 
             // Lab results
             List<LabResult> labResults = labResultRepository
                     .findByPatientIdOrderByCreatedAtDesc(patientId);
-            fullDetails.put("labResults", labResults);
-            fullDetails.put("labResultsCount", labResults.size());
 
             // Appointments
             List<Appointment> appointments = appointmentRepository
                     .findByPatientIdOrderByCreatedAtDesc(patientId);
-            fullDetails.put("appointments", appointments);
-            fullDetails.put("appointmentsCount", appointments.size());
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "patient", fullDetails
-            ));
+            PatientDetails fullDetails = new PatientDetails(
+                    patient.id(), patient.name(), patient.email(),
+                    healthData.map(PatientHealthData::getAge).orElse(patient.age()),
+                    healthData.map(PatientHealthData::getCondition).orElse(null),
+                    healthData.map(PatientHealthData::getLastVisit).orElse(null),
+                    healthData.map(PatientHealthData::getMedications).orElse(null),
+                    healthData.map(PatientHealthData::getAllergies).orElse(null),
+                    medicalRecords.stream().map(MedicalRecordResponse::from).toList(), medicalRecords.size(),
+                    prescriptions.stream().map(PrescriptionResponse::from).toList(), prescriptions.size(),
+                    labResults.stream().map(LabResultResponse::from).toList(), labResults.size(),
+                    appointments.stream().map(AppointmentResponse::from).toList(), appointments.size());
+
+            return ResponseEntity.ok(new PatientDetailsResponse(null, fullDetails));
 
         } catch (Exception e) {
             log.error("❌ Error fetching full details:", e);
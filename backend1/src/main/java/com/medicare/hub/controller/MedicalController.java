@@ -2,6 +2,12 @@ package com.medicare.hub.controller;
 
 import com.medicare.hub.service.CloudinaryService;
 import com.medicare.hub.dto.ApiResponse;
+import com.medicare.hub.dto.LabResultResponse;
+import com.medicare.hub.dto.MedicalRecordResponse;
+import com.medicare.hub.dto.MessageResponse;
+import com.medicare.hub.dto.PrescriptionResponse;
+import com.medicare.hub.dto.RecordSavedResponse;
+import com.medicare.hub.dto.RecordsResponse;
 import com.medicare.hub.model.LabResult;
 import com.medicare.hub.model.MedicalRecord;
 import com.medicare.hub.model.Prescription;
@@ -20,7 +26,6 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @Slf4j
 @RestController
@@ -43,27 +48,18 @@ public class MedicalController {
                 case "medical":
                     List<MedicalRecord> medicalRecords = medicalRecordRepository
                             .findByPatientIdAndCategoryOrderByCreatedAtDesc(patientId, "Medical Record");
-                    return ResponseEntity.ok(Map.of(
-                            "success", true,
-                            "count", medicalRecords.size(),
-                            "records", medicalRecords
-                    ));
+                    return ResponseEntity.ok(new RecordsResponse<>(
+                            medicalRecords.stream().map(MedicalRecordResponse::from).toList()));
 
                 case "prescription":
                     List<Prescription> prescriptions = prescriptionRepository.findByPatientIdOrderByCreatedAtDesc(patientId);
-                    return ResponseEntity.ok(Map.of(
-                            "success", true,
-                            "count", prescriptions.size(),
-                            "records", prescriptions
-                    ));
+                    return ResponseEntity.ok(new RecordsResponse<>(
+                            prescriptions.stream().map(PrescriptionResponse::from).toList()));
 
                 case "lab":
                     List<LabResult> labResults = labResultRepository.findByPatientIdOrderByCreatedAtDesc(patientId);
-                    return ResponseEntity.ok(Map.of(
-                            "success", true,
-                            "count", labResults.size(),
-                            "records", labResults
-                    ));
+                    return ResponseEntity.ok(new RecordsResponse<>(
+                            labResults.stream().map(LabResultResponse::from).toList()));
                 default:
                     return ResponseEntity.badRequest()
                             .body(ApiResponse.error("Invalid record type"));
@@ -75,6 +71,21 @@ public class MedicalController {
         }
     }
 
+    @GetMapping("/patient/{patientId}/prescriptions/active")
+    public ResponseEntity<?> getActivePrescriptions(@PathVariable String patientId) {
+        log.info("💊 Fetching active prescriptions for patient: {}", patientId);
+
+        try {
+            List<Prescription> prescriptions = prescriptionRepository.findActiveByPatientId(patientId, LocalDate.now());
+            return ResponseEntity.ok(new RecordsResponse<>(
+                    prescriptions.stream().map(PrescriptionResponse::from).toList()));
+        } catch (Exception e) {
+            log.error("❌ Error fetching active prescriptions:", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to fetch active prescriptions"));
+        }
+    }
+
     @PostMapping("/patient/{patientId}/{type}/records")
     public ResponseEntity<?> addRecord(
             @PathVariable String patientId,
@@ -86,12 +97,11 @@ public class MedicalController {
         log.info("📝 Adding {} record for patient: {}", type, patientId);
 
         try {
-            String recordId = UUID.randomUUID().toString();
+            String recordId;
 
             switch (type.toLowerCase()) {
                 case "medical":
                     MedicalRecord medicalRecord = new MedicalRecord();
-                    medicalRecord.setId(recordId);
                     medicalRecord.setPatientId(patientId);
                     medicalRecord.setHospital(params.get("hospitalName"));
                     medicalRecord.setDoctorName(params.get("doctorName"));
@@ -117,13 +127,12 @@ public class MedicalController {
                         String cloudinaryUrl = cloudinaryService.uploadFile(prescriptionImage, "prescriptions");
                         medicalRecord.setPrescriptionPath(cloudinaryUrl);
                     }
-                    medicalRecordRepository.save(medicalRecord);
+                    recordId = medicalRecordRepository.save(medicalRecord).getId();
                     log.info("✅ Saved medical record to PostgreSQL, files to cloudinary");
                     break;
 
                 case "prescription":
                     Prescription prescription = new Prescription();
-                    prescription.setId(recordId);
                     prescription.setPatientId(patientId);
                     prescription.setHospital(params.get("hospitalName"));
                     prescription.setDoctorName(params.get("doctorName"));
@@ -135,19 +144,24 @@ public class MedicalController {
                     if (params.get("prescriptionDate") != null) {
                         prescription.setPrescriptionDate(LocalDate.parse(params.get("prescriptionDate")));
                     }
+                    if (params.get("endDate") != null && !params.get("endDate").isEmpty()) {
+                        prescription.setEndDate(LocalDate.parse(params.get("endDate")));
+                    }
+                    if (params.get("durationDays") != null && !params.get("durationDays").isEmpty()) {
+                        prescription.setDurationDays(Integer.parseInt(params.get("durationDays")));
+                    }
 
                     if (prescriptionImage != null) {
                         String cloudinaryUrl = cloudinaryService.uploadFile(prescriptionImage, "prescriptions");
                         prescription.setPrescriptionImage(cloudinaryUrl);
                     }
 
-                    prescriptionRepository.save(prescription);
+                    recordId = prescriptionRepository.save(prescription).getId();
                     log.info("✅ Saved prescription to PostgreSQL, files to Cloudinary");
                     break;
 
                 case "lab":
                     LabResult labResult = new LabResult();
-                    labResult.setId(recordId);
                     labResult.setPatientId(patientId);
                     labResult.setHospitalName(params.get("hospitalName"));
                     labResult.setDoctorName(params.get("doctorName"));
@@ -162,7 +176,7 @@ public class MedicalController {
                         String cloudinaryUrl = cloudinaryService.uploadFile(softcopyFile, "labs");
                         labResult.setReportPath(cloudinaryUrl);
                     }
-                    labResultRepository.save(labResult);
+                    recordId = labResultRepository.save(labResult).getId();
                     log.info("✅ Saved lab result to PostgreSQL, files to cloudinary");
                     break;
                 default:
@@ -173,11 +187,7 @@ public class MedicalController {
             log.info("✅ {} record added successfully", type);
 
             return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(Map.of(
-                            "success", true,
-                            "message", type + " record added successfully",
-                            "recordId", recordId
-                    ));
+                    .body(new RecordSavedResponse(type + " record added successfully", recordId));
         } catch (Exception e) {
             log.error("❌ Error adding {} record:", type, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -185,8 +195,11 @@ public class MedicalController {
         }
     }
 
-    @PutMapping("/{type}/records/{recordId}")
+    // Records are addressed under their patient, so the token filter's path check covers them;
+    // a record of another patient is reported as not found
+    @PutMapping("/patient/{patientId}/{type}/records/{recordId}")
     public ResponseEntity<?> updateRecord(
+            @PathVariable String patientId,
             @PathVariable String type,
             @PathVariable String recordId,
             @RequestParam Map<String, String> params,
@@ -198,7 +211,8 @@ public class MedicalController {
         try {
             switch (type.toLowerCase()) {
                 case "medical":
-                    Optional<MedicalRecord> medicalOpt = medicalRecordRepository.findById(recordId);
+                    Optional<MedicalRecord> medicalOpt = medicalRecordRepository.findById(recordId)
+                            .filter(record -> patientId.equals(record.getPatientId()));
                     if (medicalOpt.isEmpty()) {
                         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                                 .body(ApiResponse.error("Record not found"));
@@ -226,7 +240,8 @@ public class MedicalController {
                     break;
 
                 case "prescription":
-                    Optional<Prescription> prescriptionOpt = prescriptionRepository.findById(recordId);
+                    Optional<Prescription> prescriptionOpt = prescriptionRepository.findById(recordId)
+                            .filter(record -> patientId.equals(record.getPatientId()));
                     if (prescriptionOpt.isEmpty()) {
                         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                                 .body(ApiResponse.error("Record not found"));
@@ -238,7 +253,20 @@ public class MedicalController {
                     if (params.get("medicineName") != null) prescription.setMedicineName(params.get("medicineName"));
                     if (params.get("instructions") != null) prescription.setInstructions(params.get("instructions"));
                     if (params.get("notes") != null) prescription.setNotes(params.get("notes"));
-                    if (params.get("status") != null) prescription.setStatus(params.get("status"));
+                    if (params.get("durationDays") != null && !params.get("durationDays").isEmpty()) {
+                        int durationDays = Integer.parseInt(params.get("durationDays"));
+                        prescription.setDurationDays(durationDays);
+                        prescription.setEndDate(prescription.endOfCourse(durationDays));
+                    }
+                    // An explicit end date wins over the one derived from the duration
+                    if (params.get("endDate") != null && !params.get("endDate").isEmpty()) {
+                        prescription.setEndDate(LocalDate.parse(params.get("endDate")));
+                    }
+                    if (params.get("status") != null) {
+                        prescription.setStatus(params.get("status"));
+                    } else {
+                        prescription.reactivateIfRunning(LocalDate.now());
+                    }
 
                     if (prescriptionImage != null) {
                         cloudinaryService.deleteFile(prescription.getPrescriptionImage());
@@ -250,7 +278,8 @@ public class MedicalController {
                     break;
 
                 case "lab":
-                    Optional<LabResult> labOpt = labResultRepository.findById(recordId);
+                    Optional<LabResult> labOpt = labResultRepository.findById(recordId)
+                            .filter(record -> patientId.equals(record.getPatientId()));
                     if (labOpt.isEmpty()) {
                         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                                 .body(ApiResponse.error("Record not found"));
@@ -278,11 +307,7 @@ public class MedicalController {
 
             log.info("✅ {} record updated successfully", type);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", type + " record updated successfully",
-                    "recordId", recordId
-            ));
+            return ResponseEntity.ok(new RecordSavedResponse(type + " record updated successfully", recordId));
         } catch (Exception e) {
             log.error("❌ Error updating {} record:", type, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -290,38 +315,53 @@ public class MedicalController {
         }
     }
 
-    @DeleteMapping("/{type}/records/{recordId}")
-    public ResponseEntity<?> deleteRecord(@PathVariable String type, @PathVariable String recordId) {
+    @DeleteMapping("/patient/{patientId}/{type}/records/{recordId}")
+    public ResponseEntity<?> deleteRecord(
+            @PathVariable String patientId,
+            @PathVariable String type,
+            @PathVariable String recordId) {
         log.info("🗑️ Deleting {} record: {}", type, recordId);
 
         try {
             switch (type.toLowerCase()) {
                 case "medical":
-                    Optional<MedicalRecord> medicalOpt = medicalRecordRepository.findById(recordId);
-                    if (medicalOpt.isPresent()) {
-                        MedicalRecord record = medicalOpt.get();
-                        cloudinaryService.deleteFile(record.getSoftcopyPath());
-                        cloudinaryService.deleteFile(record.getPrescriptionPath());
-                        medicalRecordRepository.deleteById(recordId);
+                    Optional<MedicalRecord> medicalOpt = medicalRecordRepository.findById(recordId)
+                            .filter(record -> patientId.equals(record.getPatientId()));
+                    if (medicalOpt.isEmpty()) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .body(ApiResponse.error("Record not found"));
                     }
+
+                    MedicalRecord medicalRecord = medicalOpt.get();
+                    cloudinaryService.deleteFile(medicalRecord.getSoftcopyPath());
+                    cloudinaryService.deleteFile(medicalRecord.getPrescriptionPath());
+                    medicalRecordRepository.deleteById(recordId);
                     break;
 
                 case "prescription":
-                    Optional<Prescription> prescriptionOpt = prescriptionRepository.findById(recordId);
-                    if (prescriptionOpt.isPresent()) {
-                        Prescription prescription = prescriptionOpt.get();
-                        cloudinaryService.deleteFile(prescription.getPrescriptionImage());
-                        prescriptionRepository.deleteById(recordId);
+                    Optional<Prescription> prescriptionOpt = prescriptionRepository.findById(recordId)
+                            .filter(record -> patientId.equals(record.getPatientId()));
+                    if (prescriptionOpt.isEmpty()) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .body(ApiResponse.error("Record not found"));
                     }
+
+                    Prescription prescription = prescriptionOpt.get();
+                    cloudinaryService.deleteFile(prescription.getPrescriptionImage());
+                    prescriptionRepository.deleteById(recordId);
                     break;
 
                 case "lab":
-                    Optional<LabResult> labOpt = labResultRepository.findById(recordId);
-                    if (labOpt.isPresent()) {
-                        LabResult labResult = labOpt.get();
-                        cloudinaryService.deleteFile(labResult.getReportPath());
-                        labResultRepository.deleteById(recordId);
+                    Optional<LabResult> labOpt = labResultRepository.findById(recordId)
+                            .filter(record -> patientId.equals(record.getPatientId()));
+                    if (labOpt.isEmpty()) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .body(ApiResponse.error("Record not found"));
                     }
+
+                    LabResult labResult = labOpt.get();
+                    cloudinaryService.deleteFile(labResult.getReportPath());
+                    labResultRepository.deleteById(recordId);
                     break;
 
                 default:
@@ -330,10 +370,7 @@ public class MedicalController {
             }
             log.info("✅ {} record deleted successfully", type);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", type + " record deleted successfully"
-            ));
+            return ResponseEntity.ok(new MessageResponse(type + " record deleted successfully"));
         } catch (Exception e) {
             log.error("❌ Error deleting {} record:", type, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,16 +1,29 @@
 package com.medicare.hub.controller;
 
 import com.cloudinary.Api;
-import com.medicare.hub.dto.ApiResponse;
-import com.medicare.hub.dto.PasskeyVerification;
-import com.medicare.hub.dto.PatientAccessRequest;
+import com.medicare.hub.config.TokenAuthenticationFilter;
+import com.medicare.hub.dto.*;
 import com.medicare.hub.model.*;
 import com.medicare.hub.repository.*;
+import com.medicare.hub.service.AccessGrantService;
+import com.medicare.hub.service.NotificationReadBuffer;
+import com.medicare.hub.service.NotificationStreamService;
+import com.medicare.hub.service.PasskeyStore;
+import com.medicare.hub.service.PasskeyStore.PendingPasskey;
+import com.medicare.hub.service.RateLimitService;
+import com.medicare.hub.service.TokenService;
+import com.medicare.hub.service.TokenService.AuthenticatedUser;
+import com.medicare.hub.service.UnreadCounterService;
+import com.medicare.hub.service.UserDirectory;
+import com.medicare.hub.service.UserDirectory.CachedUser;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -29,9 +42,26 @@ public class PatientAccessController {
     private final PrescriptionRepository prescriptionRepository;
     private final LabResultRepository labResultRepository;
     private final AppointmentRepository appointmentRepository;
+    private final PasskeyStore passkeyStore;
+    private final RateLimitService rateLimitService;
+    private final AccessGrantService accessGrantService;
+    private final NotificationStreamService notificationStreamService;
+    private final UnreadCounterService unreadCounterService;
+    private final NotificationReadBuffer readBuffer;
+    private final UserDirectory userDirectory;
+    private final TokenService tokenService;
+
+    // A passkey no other pending request of this patient holds; verification looks codes up per patient
+    private String unusedPasskey(String patientId) {
+        String passkey = generatePassKey();
+        while (passkeyStore.find(patientId, passkey).isPresent()) {
+            passkey = generatePassKey();
+        }
+        return passkey;
+    }
 
-    // Generate 5 Character passkey
-    private String generatePassKey() {
+    // Generate 5 Character passkey (package-private for the JMH benchmarks)
+    String generatePassKey() {
         String chars = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
         Random random = new Random();
         StringBuilder passkey = new StringBuilder();
@@ -46,18 +76,23 @@ public class PatientAccessController {
     @PostMapping("/doctor/{doctorId}/request-patient-access")
     public ResponseEntity<?> requestPatientAccess(
             @PathVariable String doctorId,
-            @RequestBody PatientAccessRequest request) {
+            @RequestBody PatientAccessRequest request,
+            HttpServletRequest httpRequest) {
 
         log.info("Doctor {} requesting access to patient email: {}", doctorId, request.getPatientEmail());
 
+        if (!rateLimitService.tryAccessRequest(doctorId, request.getPatientEmail(), httpRequest.getRemoteAddr())) {
+            return tooManyRequests();
+        }
+
         try {
             // Find doctor
-            Optional<User> doctorOpt = userRepository.findById(doctorId);
-            if (doctorOpt.isEmpty() || !doctorOpt.get().getRole().equals("Doctor")) {
+            Optional<CachedUser> doctorOpt = userDirectory.get(doctorId);
+            if (doctorOpt.isEmpty() || !doctorOpt.get().hasRole("Doctor")) {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("Invalid doctor ID"));
             }
-            User doctor = doctorOpt.get();
+            CachedUser doctor = doctorOpt.get();
 
             // Find Patient By email
             Optional<User> patientOpt = userRepository.findByEmail(request.getPatientEmail());
@@ -68,28 +103,18 @@ public class PatientAccessController {
             User patient = patientOpt.get();
 
             // Check if there's already an active request
-            Optional<PasskeyAccessRequest> existingRequest =
-                    passkeyRequestRepository.findByDoctorIdAndPatientIdAndStatusAndExpiresAtAfter(
-                            doctorId,
-                            patient.getId(),
-                            "pending",
-                            LocalDateTime.now()
-                    );
+            Optional<PendingPasskey> existingRequest = passkeyStore.findActive(doctorId, patient.getId());
 
             if (existingRequest.isPresent()) {
-                return ResponseEntity.ok(Map.of(
-                        "success", true,
-                        "message", "Access request already sent. Waiting for patient verification.",
-                        "passkey", existingRequest.get().getPasskey(),
-                        "expiresIn", "30 Minutes"
-                ));
+                return ResponseEntity.ok(new AccessRequestResponse(
+                        "Access request already sent. Waiting for patient verification.",
+                        existingRequest.get().passkey(), "30 Minutes", null));
             }
                 // Generate new passkey
-                String passkey = generatePassKey();
+                String passkey = unusedPasskey(patient.getId());
 
                 // Create Access Request
                 PasskeyAccessRequest accessRequest = new PasskeyAccessRequest();
-                accessRequest.setId(UUID.randomUUID().toString());
                 accessRequest.setDoctorId(doctorId);
                 accessRequest.setPatientId(patient.getId());
                 accessRequest.setPasskey(passkey);
@@ -98,35 +123,37 @@ public class PatientAccessController {
                 accessRequest.setExpiresAt(LocalDateTime.now().plusMinutes(30));
 
                 passkeyRequestRepository.save(accessRequest);
+                while (!passkeyStore.put(accessRequest)) {
+                    // A concurrent request for the same patient drew the same code
+                    passkey = unusedPasskey(patient.getId());
+                    accessRequest.setPasskey(passkey);
+                    passkeyRequestRepository.save(accessRequest);
+                }
 
                 // Create notification for patient
                 PatientNotification notification = new PatientNotification();
-                notification.setId(UUID.randomUUID().toString());
                 notification.setPatientId(patient.getId());
                 notification.setType("passkey_request");
                 notification.setTitle("Doctor Access Request");
                 notification.setMessage(String.format(
                         "%s has requested access to view your medical records. Please share this access code with the doctor: %s",
-                        doctor.getName(),
+                        doctor.name(),
                         passkey
                 ));
                 notification.setPasskey(passkey);
-                notification.setDoctorName(doctor.getName());
+                notification.setDoctorName(doctor.name());
                 notification.setIsRead(false);
                 notification.setCreatedAt(LocalDateTime.now());
                 notification.setExpiresAt(LocalDateTime.now().plusMinutes(30));
 
                 notificationRepository.save(notification);
+                unreadCounterService.increment(patient.getId());
+                notificationStreamService.publish(notification);
 
                 log.info("Passkey generated and notification sent: {}", passkey);
 
-                return ResponseEntity.ok(Map.of(
-                        "success", true,
-                        "message", "Access code sent to patient",
-                        "passkey", passkey,
-                        "expiresIn", "30 minutes",
-                        "patientName", patient.getName()
-                ));
+                return ResponseEntity.ok(new AccessRequestResponse(
+                        "Access code sent to patient", passkey, "30 minutes", patient.getName()));
 
         } catch (Exception e) {
             log.error("Error requesting patient access:", e);
@@ -139,9 +166,14 @@ public class PatientAccessController {
     @PostMapping("/doctor/{doctorId}/verify-passkey")
     public ResponseEntity<?> verifyPasskey(
             @PathVariable String doctorId,
-            @RequestBody PasskeyVerification verification) {
+            @RequestBody PasskeyVerification verification,
+            HttpServletRequest httpRequest) {
         log.info("Doctor {} verifying passkey for patient: {}", doctorId, verification.getPatientEmail());
 
+        if (!rateLimitService.tryVerifyPasskey(doctorId, verification.getPatientEmail(), httpRequest.getRemoteAddr())) {
+            return tooManyRequests();
+        }
+
         try {
             // Find patient
             Optional<User> patientOpt = userRepository.findByEmail(verification.getPatientEmail());
@@ -152,47 +184,42 @@ public class PatientAccessController {
             User patient = patientOpt.get();
 
             // Find matching passkey request
-            Optional<PasskeyAccessRequest> requestOpt =
-                    passkeyRequestRepository.findByPatientIdAndPasskeyAndStatus(
-                            patient.getId(),
-                            verification.getPasskey().toUpperCase(),
-                            "pending"
-                    );
-
-            if (requestOpt.isEmpty()) {
+            Optional<PendingPasskey> pendingOpt =
+                    passkeyStore.find(patient.getId(), verification.getPasskey().toUpperCase());
+
+            if (pendingOpt.isEmpty()) {
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("Invalid or expired access code"));
             }
-            PasskeyAccessRequest accessRequest = requestOpt.get();
+            PendingPasskey pending = pendingOpt.get();
 
-            // Check if expired
-            if (accessRequest.isExpired()) {
-                accessRequest.setStatus("expired");
-                passkeyRequestRepository.save(accessRequest);
+            // Check if expired (row itself is flipped to expired by the cleanup sweeper)
+            if (pending.isExpired()) {
+                passkeyStore.remove(pending);
                 return ResponseEntity.badRequest()
                         .body(ApiResponse.error("Access code has expired. Please request a new one."));
             }
 
             // Check if doctor matches
-            if (!accessRequest.getDoctorId().equals(doctorId)) {
+            if (!pending.doctorId().equals(doctorId)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(ApiResponse.error("This access code was not generated for you"));
             }
-            // Mark as verified
-            accessRequest.setStatus("verified");
-            accessRequest.setVerifiedAt(LocalDateTime.now());
-            passkeyRequestRepository.save(accessRequest);
+            // Mark as verified; a zero count means the code was already used
+            int claimed = passkeyRequestRepository.markVerified(pending.requestId(), LocalDateTime.now());
+            passkeyStore.remove(pending);
+            if (claimed == 0) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Invalid or expired access code"));
+            }
+            accessGrantService.grant(doctorId, patient.getId());
 
             // Fetch patient's complete data
-            Map<String, Object> patientData = fetchPatientCompleteData(patient.getId(), doctorId);
+            PatientDetails patientData = fetchPatientCompleteData(patient.getId(), doctorId);
 
             log.info("Passkey verified successfully");
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "Access granted",
-                    "patient", patientData
-            ));
+            return ResponseEntity.ok(new PatientDetailsResponse("Access granted", patientData));
         } catch (Exception e) {
             log.error("Error verifying passkey:", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -200,45 +227,58 @@ public class PatientAccessController {
         }
     }
 
-    // FETCH COMPLETE PATIENT DATA
-    private Map<String, Object> fetchPatientCompleteData(String patientId, String doctorId) {
-        Map<String, Object> data = new HashMap<>();
+    // PATIENT REVOKES A DOCTOR'S ACCESS
+    @DeleteMapping("/patient/{patientId}/access-grants/{doctorId}")
+    public ResponseEntity<?> revokeAccess(
+            @PathVariable String patientId,
+            @PathVariable String doctorId) {
+        log.info("Patient {} revoking access for doctor {}", patientId, doctorId);
 
-        // Basic patient info
-        Optional<User> patientOpt = userRepository.findById(patientId);
-        if (patientOpt.isPresent()) {
-            User patient = patientOpt.get();
-            data.put("id", patient.getId());
-            data.put("name", patient.getName());
-            data.put("email", patient.getEmail());
-            data.put("age", patient.getAge());
-            //data.put("condition", patient.getCondition());
-            //data.put("lastVisit", patient.getLastVisit());
-            //data.put("medications", parseJsonArray(patient.get()));
-            //data.put("allergies", parseJsonArray(patient.getAllergies()));
+        try {
+            if (!accessGrantService.revoke(doctorId, patientId)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("No access grant found"));
+            }
+            return ResponseEntity.ok(new MessageResponse("Access revoked"));
+        } catch (Exception e) {
+            log.error("Error revoking access:", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to revoke access"));
         }
+    }
+
+    private ResponseEntity<?> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(ApiResponse.error("Too many requests. Please try again later."));
+    }
+
+    // FETCH COMPLETE PATIENT DATA
+    private PatientDetails fetchPatientCompleteData(String patientId, String doctorId) {
+        // Basic patient info; condition, lastVisit, medications and allergies aren't shared here yet
+        Optional<CachedUser> patientOpt = userDirectory.get(patientId);
 
         // Medical records
         List<MedicalRecord> medicalRecords = medicalRecordRepository.findByPatientIdOrderByCreatedAtDesc(patientId);
-        data.put("medicalRecords", medicalRecords);
-        data.put("medicalRecordsCount", medicalRecords.size());
 
         // Prescriptions
         List<Prescription> prescriptions = prescriptionRepository.findByPatientIdOrderByCreatedAtDesc(patientId);
-        data.put("prescriptions", prescriptions);
-        data.put("prescriptionsCount", prescriptions.size());
 
         // Lab results
         List<LabResult> labResults = labResultRepository.findByPatientIdOrderByCreatedAtDesc(patientId);
-        data.put("labResults", labResults);
-        data.put("labResultsCount", labResults.size());
 
         // Appointments
         List<Appointment> appointments = appointmentRepository.findByPatientIdOrderByCreatedAtDesc(patientId);
-        data.put("appointments", appointments);
-        data.put("appointmentsCount", appointments.size());
 
-        return data;
+        return new PatientDetails(
+                patientOpt.map(CachedUser::id).orElse(null),
+                patientOpt.map(CachedUser::name).orElse(null),
+                patientOpt.map(CachedUser::email).orElse(null),
+                patientOpt.map(CachedUser::age).orElse(null),
+                null, null, null, null,
+                medicalRecords.stream().map(MedicalRecordResponse::from).toList(), medicalRecords.size(),
+                prescriptions.stream().map(PrescriptionResponse::from).toList(), prescriptions.size(),
+                labResults.stream().map(LabResultResponse::from).toList(), labResults.size(),
+                appointments.stream().map(AppointmentResponse::from).toList(), appointments.size());
     }
 
     private List<String> parseJsonArray(String jsonArray) {
@@ -263,15 +303,13 @@ public class PatientAccessController {
             log.info("Fetching notifications for patient: {}", patientId);
 
         try {
+            readBuffer.flush(patientId);
             List<PatientNotification> notifications =
                     notificationRepository.findByPatientIdOrderByCreatedAtDesc(patientId);
 
-            long unreadCount = notificationRepository.countByPatientIdAndIsRead(patientId, false);
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "notifications", notifications,
-                    "unreadCount", unreadCount
-            ));
+            long unreadCount = unreadCounterService.get(patientId);
+            return ResponseEntity.ok(new NotificationsResponse(
+                    notifications.stream().map(NotificationResponse::from).toList(), unreadCount));
         } catch (Exception e) {
             log.error("Error fetching notifications:", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -279,6 +317,42 @@ public class PatientAccessController {
             }
         }
 
+        // GET UNREAD COUNT (served from memory)
+        @GetMapping("/patient/{patientId}/notifications/unread-count")
+        public ResponseEntity<?> getUnreadCount(@PathVariable String patientId) {
+            try {
+                readBuffer.flush(patientId);
+                return ResponseEntity.ok(new UnreadCountResponse(unreadCounterService.get(patientId)));
+            } catch (Exception e) {
+                log.error("Error fetching unread count:", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(ApiResponse.error("Failed to fetch unread count"));
+            }
+        }
+
+        // STREAM TICKET: EventSource can't send the bearer token, so it opens the stream with this single-use ticket
+        @PostMapping("/patient/{patientId}/notifications/stream/ticket")
+        public ResponseEntity<?> issueStreamTicket(
+                @PathVariable String patientId,
+                @RequestAttribute(name = TokenAuthenticationFilter.AUTHENTICATED_USER, required = false) AuthenticatedUser user) {
+            if (user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(ApiResponse.error("Please log in again"));
+            }
+            return ResponseEntity.ok(new StreamTicketResponse(tokenService.issueStreamTicket(user)));
+        }
+
+        // STREAM NEW NOTIFICATIONS (SSE)
+        @GetMapping(value = "/patient/{patientId}/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter streamNotifications(
+                @PathVariable String patientId,
+                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                // A ticket only opens one connection, so the client reconnects itself and passes this instead
+                @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+            log.info("Patient {} subscribed to notification stream", patientId);
+            return notificationStreamService.subscribe(patientId, lastEventId != null ? lastEventId : lastEventIdParam);
+        }
+
         // MARK NOTIFICATION AS READ
         @PutMapping("/patient/{patientId}/notifications/{notificationId}/read")
         public ResponseEntity<?> markNotificationAsRead(
@@ -286,25 +360,10 @@ public class PatientAccessController {
                 @PathVariable String notificationId) {
 
             try {
-                Optional<PatientNotification> notificationOpt = notificationRepository.findById(notificationId);
-                if (notificationOpt.isEmpty()) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                            .body(ApiResponse.error("Notification not found"));
-                }
+                // Buffered; the UPDATE is scoped to patientId so foreign ids are simply ignored
+                readBuffer.markRead(patientId, notificationId);
 
-                PatientNotification notification = notificationOpt.get();
-                if (!notification.getPatientId().equals(patientId)) {
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                            .body(ApiResponse.error("Not authorized"));
-                }
-
-                notification.setIsRead(true);
-                notificationRepository.save(notification);
-
-                return ResponseEntity.ok(Map.of(
-                        "success", true,
-                        "message", "Notification marked as read"
-                ));
+                return ResponseEntity.ok(new MessageResponse("Notification marked as read"));
 
             } catch (Exception e) {
                 log.error("Error marking notification as read:", e);
@@ -313,6 +372,67 @@ public class PatientAccessController {
             }
         }
 
+        // BULK MARK NOTIFICATIONS AS READ (ids, or everything before a time)
+        @PutMapping("/patient/{patientId}/notifications/read")
+        public ResponseEntity<?> markNotificationsAsRead(
+                @PathVariable String patientId,
+                @RequestBody(required = false) NotificationBulkRequest request) {
+
+            try {
+                readBuffer.flush(patientId);
+
+                int updated;
+                if (request != null && request.getIds() != null && !request.getIds().isEmpty()) {
+                    updated = notificationRepository.markReadByIds(patientId, request.getIds());
+                } else {
+                    LocalDateTime before = request != null && request.getBefore() != null
+                            ? request.getBefore()
+                            : LocalDateTime.now();
+                    updated = notificationRepository.markReadBefore(patientId, before);
+                }
+                unreadCounterService.decrement(patientId, updated);
+
+                return ResponseEntity.ok(NotificationsUpdatedResponse.markedRead(updated));
+
+            } catch (Exception e) {
+                log.error("Error marking notifications as read:", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(ApiResponse.error("Failed to mark notifications as read"));
+            }
+        }
+
+    // ============================================
+    // BULK DELETE NOTIFICATIONS
+    // ============================================
+    @DeleteMapping("/patient/{patientId}/notifications")
+    public ResponseEntity<?> deleteNotifications(
+            @PathVariable String patientId,
+            @RequestBody NotificationBulkRequest request) {
+
+        log.info("🗑️ Bulk deleting notifications for patient: {}", patientId);
+
+        try {
+            int deleted;
+            if (request.getIds() != null && !request.getIds().isEmpty()) {
+                deleted = notificationRepository.deleteByIds(patientId, request.getIds());
+            } else if (request.getBefore() != null) {
+                deleted = notificationRepository.deleteBefore(patientId, request.getBefore());
+            } else {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Provide notification ids or a 'before' time"));
+            }
+            // Unknown how many of them were unread; reload the counter on next read
+            unreadCounterService.invalidate(patientId);
+
+            return ResponseEntity.ok(NotificationsUpdatedResponse.deleted(deleted));
+
+        } catch (Exception e) {
+            log.error("Error deleting notifications:", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to delete notifications"));
+        }
+    }
+
     // ============================================
     // DELETE NOTIFICATION
     // ============================================
@@ -337,13 +457,13 @@ public class PatientAccessController {
             }
 
             notificationRepository.delete(notification);
+            if (!Boolean.TRUE.equals(notification.getIsRead())) {
+                unreadCounterService.decrement(patientId, 1);
+            }
 
             log.info("Notification deleted");
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "Notification deleted"
-            ));
+            return ResponseEntity.ok(new MessageResponse("Notification deleted"));
 
         } catch (Exception e) {
             log.error("Error deleting notification:", e);
@@ -1,17 +1,18 @@
 package com.medicare.hub.controller;
 
 import com.medicare.hub.dto.ApiResponse;
+import com.medicare.hub.dto.HealthDataResponse;
+import com.medicare.hub.dto.HealthDataUpdateRequest;
+import com.medicare.hub.dto.PatientHealthDataResponse;
 import com.medicare.hub.model.PatientHealthData;
-import com.medicare.hub.model.User;
 import com.medicare.hub.repository.PatientHealthDataRepository;
-import com.medicare.hub.repository.UserRepository;
+import com.medicare.hub.service.UserDirectory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -21,16 +22,15 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class PatientHealthDataController {
 
-    private PatientHealthDataRepository healthDataRepository;
-    private UserRepository userRepository;
+    private final PatientHealthDataRepository healthDataRepository;
+    private final UserDirectory userDirectory;
 
     @GetMapping("/{patientId}/health-data")
     public ResponseEntity<?> getHealthData(@PathVariable String patientId) {
         log.info("Fetching health data for patient: {}", patientId);
 
         try {
-            Optional<User> patientOpt = userRepository.findById(patientId);
-            if (patientOpt.isPresent() || !patientOpt.get().getRole().equals("Patient")) {
+            if (!isPatient(patientId)) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Patient Not Found"));
             }
@@ -39,21 +39,64 @@ public class PatientHealthDataController {
             Optional<PatientHealthData> healthDataOpt = healthDataRepository.findByPatientId(patientId);
 
             if (healthDataOpt.isEmpty()) {
-                return ResponseEntity.ok(Map.of(
-                        "success", true,
-                        "message", "No health data found",
-                        "healthData", null
-                ));
+                return ResponseEntity.ok(new HealthDataResponse(null));
             }
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "healthData", healthDataOpt.get()
-            ));
+            return ResponseEntity.ok(new HealthDataResponse(PatientHealthDataResponse.from(healthDataOpt.get())));
         } catch (Exception e) {
-            log.info("Error fetching health data", e);
+            log.error("❌ Error fetching health data", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to fetch health data"));
         }
     }
+
+    // Creates the row on first use; only the fields present in the request are changed
+    @PutMapping("/{patientId}/health-data")
+    public ResponseEntity<?> updateHealthData(
+            @PathVariable String patientId,
+            @RequestBody HealthDataUpdateRequest request) {
+        log.info("📝 Updating health data for patient: {}", patientId);
+
+        try {
+            if (!isPatient(patientId)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Patient Not Found"));
+            }
+
+            PatientHealthData healthData = healthDataRepository.findByPatientId(patientId)
+                    .orElseGet(() -> {
+                        PatientHealthData created = new PatientHealthData();
+                        created.setPatientId(patientId);
+                        return created;
+                    });
+
+            if (request.getCondition() != null) {
+                healthData.setCondition(request.getCondition());
+            }
+            if (request.getLastVisit() != null) {
+                healthData.setLastVisit(request.getLastVisit());
+            }
+            if (request.getAge() != null) {
+                healthData.setAge(request.getAge());
+            }
+            if (request.getMedications() != null) {
+                healthData.setMedications(request.getMedications());
+            }
+            if (request.getAllergies() != null) {
+                healthData.setAllergies(request.getAllergies());
+            }
+
+            PatientHealthData saved = healthDataRepository.save(healthData);
+            log.info("✅ Health data saved for patient: {}", patientId);
+            return ResponseEntity.ok(new HealthDataResponse(PatientHealthDataResponse.from(saved)));
+        } catch (Exception e) {
+            log.error("❌ Error updating health data", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to update health data"));
+        }
+    }
+
+    private boolean isPatient(String patientId) {
+        return userDirectory.get(patientId).filter(user -> user.hasRole("Patient")).isPresent();
+    }
 }
@@ -1,16 +1,25 @@
 package com.medicare.hub.controller;
 
-import com.medicare.hub.dto.ApiResponse;
+import com.medicare.hub.dto.*;
 import com.medicare.hub.model.User;
 import com.medicare.hub.repository.UserRepository;
+import com.medicare.hub.service.DoctorDirectory;
+import com.medicare.hub.service.UserDirectory;
+import com.medicare.hub.service.UserExportService;
+import com.medicare.hub.service.UserPurgeService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,19 +31,29 @@ import java.util.Optional;
 @AllArgsConstructor
 public class UserController {
 
-    private final UserRepository userRepository;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_DOCTOR_MATCHES = 50;
 
-    @GetMapping("/users")
-    ResponseEntity<?> getAllUsers() {
+    private final UserRepository userRepository;
+    private final UserExportService userExportService;
+    private final UserDirectory userDirectory;
+    private final DoctorDirectory doctorDirectory;
+    private final UserPurgeService userPurgeService;
+
+    // Directory listing for admins; the token filter requires the Admin role under /admin
+    @GetMapping("/admin/users")
+    ResponseEntity<?> getAllUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String hospital) {
         try {
-            List<User> users = userRepository.findAll();
-            log.info("Fetched {} users", users.size());
-
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "count", users.size(),
-                    "users", users
-            ));
+            Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                    Sort.by("name", "id"));
+            Page<UserSummary> users = userRepository.findSummaries(role, hospital, pageable);
+            log.info("Fetched {} of {} users", users.getNumberOfElements(), users.getTotalElements());
+
+            return ResponseEntity.ok(UsersPageResponse.from(users));
         } catch (Exception e) {
             log.error("Get users error:", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -42,16 +61,45 @@ public class UserController {
         }
     }
 
+    // Full directory export, one JSON object per line, streamed as rows are read
+    @GetMapping(value = "/admin/users/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String hospital) {
+        log.info("Exporting users (role={}, hospital={})", role, hospital);
+
+        StreamingResponseBody body = out -> userExportService.writeNdjson(out, role, hospital);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @GetMapping("/doctors")
+    public ResponseEntity<?> searchDoctors(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String hospital,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<UserSummary> doctors = doctorDirectory.search(prefix, hospital,
+                Math.min(Math.max(limit, 1), MAX_DOCTOR_MATCHES));
+        return ResponseEntity.ok(new DoctorSearchResponse(doctors));
+    }
+
+    @GetMapping("/admin/user-directory/stats")
+    public ResponseEntity<?> getUserDirectoryStats() {
+        return ResponseEntity.ok(DirectoryStatsResponse.from(userDirectory.size(), userDirectory.stats()));
+    }
+
     @DeleteMapping("/users/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable String id) {
         try {
-            userRepository.deleteById(id);
+            // Tombstone now; appointments, records, files etc. are purged in the background
+            if (!userPurgeService.requestPurge(id)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("User not found"));
+            }
             log.info("🗑 User deleted: {}", id);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "User deleted successfully"
-            ));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(new MessageResponse("User deleted successfully"));
         } catch (Exception e) {
             log.error("❌ Delete error:", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -63,20 +111,15 @@ public class UserController {
     public ResponseEntity<?> grtUserProfile(@PathVariable String userId) {
         log.info("Fetching user profile: {}",userId);
         try {
-            Optional<User> userOpt = userRepository.findById(userId);
+            Optional<User> userOpt = userRepository.findById(userId).filter(user -> !user.isDeleted());
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("User not found"));
             }
             User user = userOpt.get();
 
-            // Create response with profile completeness check
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("user", user);
-            response.put("isProfileComplete", user.isProfileComplete());
-
-            return ResponseEntity.ok(response);
+            // Profile with completeness check; never the entity itself, it carries the password hash
+            return ResponseEntity.ok(ProfileResponse.of(UserProfile.from(user)));
         } catch (Exception e) {
             log.error("❌ Error fetching user profile:", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -92,7 +135,7 @@ public class UserController {
         log.info("📝 Updates received: {}", updates);
 
         try {
-            Optional<User> userOpt = userRepository.findById(userId);
+            Optional<User> userOpt = userRepository.findById(userId).filter(user -> !user.isDeleted());
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("User not found"));
@@ -124,14 +167,12 @@ public class UserController {
                 user.setHospitalName((String) updates.get("hospitalName"));
             }
             User savedUser = userRepository.save(user);
+            userDirectory.put(savedUser);
+            doctorDirectory.upsert(savedUser);
 
             log.info("Profile updated successfully for user: {}", userId);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "Profile updated successfully",
-                    "user", user
-            ));
+            return ResponseEntity.ok(ProfileResponse.updated(UserProfile.from(savedUser)));
         } catch (Exception e) {
             log.error("Error updating profile:", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
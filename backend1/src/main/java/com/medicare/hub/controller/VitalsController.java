@@ -0,0 +1,133 @@
+package com.medicare.hub.controller;
+
+import com.medicare.hub.dto.ApiResponse;
+import com.medicare.hub.dto.VitalReadingRequest;
+import com.medicare.hub.dto.VitalSeriesResponse;
+import com.medicare.hub.dto.VitalsIngestResponse;
+import com.medicare.hub.model.VitalMetric;
+import com.medicare.hub.service.UserDirectory;
+import com.medicare.hub.service.VitalsService;
+import com.medicare.hub.service.VitalsService.Resolution;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "http://localhost:5173")
+@RequiredArgsConstructor
+public class VitalsController {
+
+    private final VitalsService vitalsService;
+    private final UserDirectory userDirectory;
+
+    @Value("${app.vitals.max-batch:5000}")
+    private int maxBatch;
+
+    // Home monitors upload whatever they collected since the last sync; re-sending is harmless
+    @PostMapping("/patient/{patientId}/vitals")
+    public ResponseEntity<?> recordVitals(
+            @PathVariable String patientId,
+            @RequestBody List<VitalReadingRequest> readings) {
+        if (readings.isEmpty() || readings.size() > maxBatch) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Between 1 and " + maxBatch + " readings per request"));
+        }
+        for (VitalReadingRequest reading : readings) {
+            if (reading == null || reading.getRecordedAt() == null || reading.getValue() == null
+                    || !Double.isFinite(reading.getValue())) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Every reading needs metric, recordedAt and a numeric value"));
+            }
+            if (VitalMetric.byKey(reading.getMetric()).isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error("Unknown metric: " + reading.getMetric()));
+            }
+        }
+
+        try {
+            if (!isPatient(patientId)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Patient Not Found"));
+            }
+            int stored = vitalsService.ingest(patientId, readings);
+            log.info("💓 Stored {} of {} vital readings for patient: {}", stored, readings.size(), patientId);
+            return ResponseEntity.ok(new VitalsIngestResponse(readings.size(), stored));
+        } catch (Exception e) {
+            log.error("❌ Error storing vitals", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to store vitals"));
+        }
+    }
+
+    @GetMapping("/patient/{patientId}/vitals/{metric}")
+    public ResponseEntity<?> getVitals(
+            @PathVariable String patientId,
+            @PathVariable String metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String resolution) {
+        return series(patientId, metric, from, to, resolution);
+    }
+
+    // Same series for a doctor; the access grant is checked by AccessGrantInterceptor
+    @GetMapping("/doctor/{doctorId}/patient/{patientId}/vitals/{metric}")
+    public ResponseEntity<?> getPatientVitals(
+            @PathVariable String doctorId,
+            @PathVariable String patientId,
+            @PathVariable String metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String resolution) {
+        return series(patientId, metric, from, to, resolution);
+    }
+
+    // Defaults to the last 7 days; without a resolution one is picked from the range's length
+    private ResponseEntity<?> series(String patientId, String metricKey, LocalDateTime from, LocalDateTime to,
+                                     String resolutionParam) {
+        Optional<VitalMetric> metric = VitalMetric.byKey(metricKey);
+        if (metric.isEmpty()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Unknown metric: " + metricKey));
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("from must be before to"));
+        }
+        Resolution resolution;
+        try {
+            resolution = resolutionParam == null
+                    ? Resolution.forRange(start, end)
+                    : Resolution.valueOf(resolutionParam.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("resolution must be raw, hour or day"));
+        }
+
+        try {
+            if (!isPatient(patientId)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Patient Not Found"));
+            }
+            return ResponseEntity.ok(new VitalSeriesResponse(
+                    vitalsService.series(patientId, metric.get(), start, end, resolution)));
+        } catch (Exception e) {
+            log.error("❌ Error fetching vitals", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to fetch vitals"));
+        }
+    }
+
+    private boolean isPatient(String patientId) {
+        return userDirectory.get(patientId).filter(user -> user.hasRole("Patient")).isPresent();
+    }
+}
@@ -0,0 +1,12 @@
+package com.medicare.hub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// patientName is only sent with a newly issued passkey
+public record AccessRequestResponse(boolean success, String message, String passkey, String expiresIn,
+                                    @JsonInclude(JsonInclude.Include.NON_NULL) String patientName) {
+
+    public AccessRequestResponse(String message, String passkey, String expiresIn, String patientName) {
+        this(true, message, passkey, expiresIn, patientName);
+    }
+}
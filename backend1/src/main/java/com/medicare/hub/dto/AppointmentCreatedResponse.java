@@ -0,0 +1,8 @@
+package com.medicare.hub.dto;
+
+public record AppointmentCreatedResponse(boolean success, String message, String appointmentId) {
+
+    public AppointmentCreatedResponse(String appointmentId) {
+        this(true, "Appointment request sent successfully", appointmentId);
+    }
+}
@@ -0,0 +1,19 @@
+package com.medicare.hub.dto;
+
+import com.medicare.hub.model.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public record AppointmentResponse(String id, String patientId, String doctorId, LocalDate appointmentDate,
+                                  LocalTime appointmentTime, String status, String type, String reason,
+                                  String notes, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public static AppointmentResponse from(Appointment appointment) {
+        return new AppointmentResponse(appointment.getId(), appointment.getPatientId(), appointment.getDoctorId(),
+                appointment.getAppointmentDate(), appointment.getAppointmentTime(), appointment.getStatus(),
+                appointment.getType(), appointment.getReason(), appointment.getNotes(),
+                appointment.getCreatedAt(), appointment.getUpdatedAt());
+    }
+}
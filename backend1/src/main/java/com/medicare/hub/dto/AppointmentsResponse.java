@@ -0,0 +1,10 @@
+package com.medicare.hub.dto;
+
+import java.util.List;
+
+public record AppointmentsResponse<T>(boolean success, int count, List<T> appointments) {
+
+    public AppointmentsResponse(List<T> appointments) {
+        this(true, appointments.size(), appointments);
+    }
+}
@@ -0,0 +1,12 @@
+package com.medicare.hub.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record DirectoryStatsResponse(boolean success, long size, double hitRate, long hits, long misses,
+                                     long evictions) {
+
+    public static DirectoryStatsResponse from(long size, CacheStats stats) {
+        return new DirectoryStatsResponse(true, size, stats.hitRate(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount());
+    }
+}
@@ -0,0 +1,12 @@
+package com.medicare.hub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+// One row of a doctor's schedule; patient fields are left out if the patient is gone
+public record DoctorAppointment(String id, LocalDate appointmentDate, String time, String period, String status,
+                                String type, String reason,
+                                @JsonInclude(JsonInclude.Include.NON_NULL) String patientName,
+                                @JsonInclude(JsonInclude.Include.NON_NULL) String patientId) {
+}
@@ -0,0 +1,10 @@
+package com.medicare.hub.dto;
+
+import java.util.List;
+
+public record DoctorSearchResponse(boolean success, int count, List<UserSummary> doctors) {
+
+    public DoctorSearchResponse(List<UserSummary> doctors) {
+        this(true, doctors.size(), doctors);
+    }
+}
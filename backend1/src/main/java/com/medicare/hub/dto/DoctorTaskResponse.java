@@ -0,0 +1,16 @@
+package com.medicare.hub.dto;
+
+import com.medicare.hub.model.DoctorTask;
+
+import java.time.LocalDateTime;
+
+public record DoctorTaskResponse(String id, String doctorId, String title, String description, String dueDate,
+                                 Boolean completed, String priority, LocalDateTime createdAt,
+                                 LocalDateTime completedAt) {
+
+    public static DoctorTaskResponse from(DoctorTask task) {
+        return new DoctorTaskResponse(task.getId(), task.getDoctorId(), task.getTitle(), task.getDescription(),
+                task.getDueDate(), task.getCompleted(), task.getPriority(), task.getCreatedAt(),
+                task.getCompletedAt());
+    }
+}
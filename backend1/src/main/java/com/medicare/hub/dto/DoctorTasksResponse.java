@@ -0,0 +1,10 @@
+package com.medicare.hub.dto;
+
+import java.util.List;
+
+public record DoctorTasksResponse(boolean success, int count, List<DoctorTaskResponse> tasks) {
+
+    public DoctorTasksResponse(List<DoctorTaskResponse> tasks) {
+        this(true, tasks.size(), tasks);
+    }
+}
@@ -0,0 +1,13 @@
+package com.medicare.hub.dto;
+
+import com.medicare.hub.service.FlightRecordingService;
+
+import java.time.Instant;
+
+// finished turns true once the file can be downloaded from /recording/{number}/file
+public record FlightRecordingResponse(boolean success, long number, boolean finished, Instant startedAt, Instant endsAt) {
+
+    public static FlightRecordingResponse from(FlightRecordingService.Status status) {
+        return new FlightRecordingResponse(true, status.number(), status.finished(), status.startedAt(), status.endsAt());
+    }
+}
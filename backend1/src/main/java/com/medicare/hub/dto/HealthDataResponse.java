@@ -0,0 +1,12 @@
+package com.medicare.hub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public record HealthDataResponse(boolean success,
+                                 @JsonInclude(JsonInclude.Include.NON_NULL) String message,
+                                 PatientHealthDataResponse healthData) {
+
+    public HealthDataResponse(PatientHealthDataResponse healthData) {
+        this(true, healthData == null ? "No health data found" : null, healthData);
+    }
+}
@@ -0,0 +1,20 @@
+package com.medicare.hub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Partial update: null leaves a field as it is, an empty list clears medications/allergies
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthDataUpdateRequest {
+    private String condition;
+    private LocalDate lastVisit;
+    private Integer age;
+    private List<String> medications;
+    private List<String> allergies;
+}
@@ -0,0 +1,17 @@
+package com.medicare.hub.dto;
+
+import com.medicare.hub.model.LabResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record LabResultResponse(String id, String patientId, String hospitalName, String doctorName,
+                                String instructions, String report, LocalDate labResultDate, String reportPath,
+                                LocalDateTime createdAt) {
+
+    public static LabResultResponse from(LabResult labResult) {
+        return new LabResultResponse(labResult.getId(), labResult.getPatientId(), labResult.getHospitalName(),
+                labResult.getDoctorName(), labResult.getInstructions(), labResult.getReport(),
+                labResult.getLabResultDate(), labResult.getReportPath(), labResult.getCreatedAt());
+    }
+}
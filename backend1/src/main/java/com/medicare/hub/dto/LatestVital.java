@@ -0,0 +1,6 @@
+package com.medicare.hub.dto;
+
+import java.time.LocalDateTime;
+
+public record LatestVital(double value, String unit, LocalDateTime recordedAt) {
+}
@@ -0,0 +1,8 @@
+package com.medicare.hub.dto;
+
+public record LoginResponse(boolean success, String token, UserResponse userData) {
+
+    public LoginResponse(String token, UserResponse userData) {
+        this(true, token, userData);
+    }
+}
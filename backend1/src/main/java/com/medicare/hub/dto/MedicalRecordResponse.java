@@ -0,0 +1,23 @@
+package com.medicare.hub.dto;
+
+import com.medicare.hub.model.MedicalRecord;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record MedicalRecordResponse(String id, String patientId, String hospital, String doctorName,
+                                    String recordType, String description, String details, LocalDate recordDate,
+                                    String softcopyPath, String prescriptionPath, String category,
+                                    String patientName, Integer patientAge, String patientCondition,
+                                    LocalDate lastVisit, String medications, String allergies,
+                                    LocalDateTime createdAt) {
+
+    public static MedicalRecordResponse from(MedicalRecord record) {
+        return new MedicalRecordResponse(record.getId(), record.getPatientId(), record.getHospital(),
+                record.getDoctorName(), record.getRecordType(), record.getDescription(), record.getDetails(),
+                record.getRecordDate(), record.getSoftcopyPath(), record.getPrescriptionPath(),
+                record.getCategory(), record.getPatientName(), record.getPatientAge(),
+                record.getPatientCondition(), record.getLastVisit(), record.getMedications(),
+                record.getAllergies(), record.getCreatedAt());
+    }
+}
@@ -0,0 +1,9 @@
+package com.medicare.hub.dto;
+
+// Success body for actions that return nothing but a message
+public record MessageResponse(boolean success, String message) {
+
+    public MessageResponse(String message) {
+        this(true, message);
+    }
+}
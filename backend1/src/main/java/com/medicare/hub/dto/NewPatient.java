@@ -0,0 +1,6 @@
+package com.medicare.hub.dto;
+
+import java.time.LocalDate;
+
+public record NewPatient(String id, String name, String email, LocalDate appointmentDate) {
+}
@@ -0,0 +1,10 @@
+package com.medicare.hub.dto;
+
+import java.util.List;
+
+public record NewPatientsResponse(boolean success, int count, List<NewPatient> patients) {
+
+    public NewPatientsResponse(List<NewPatient> patients) {
+        this(true, patients.size(), patients);
+    }
+}
@@ -0,0 +1,18 @@
+package com.medicare.hub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBulkRequest {
+    // Either explicit notification ids...
+    private List<String> ids;
+    // ...or everything created at or before this time
+    private LocalDateTime before;
+}
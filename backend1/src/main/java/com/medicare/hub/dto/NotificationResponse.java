@@ -0,0 +1,18 @@
+package com.medicare.hub.dto;
+
+import com.medicare.hub.model.PatientNotification;
+
+import java.time.LocalDateTime;
+
+// One notification as the patient's dashboard and the notification stream show it
+public record NotificationResponse(String id, String patientId, String type, String title, String message,
+                                   String passkey, String doctorName, Boolean isRead, LocalDateTime createdAt,
+                                   LocalDateTime expiresAt, boolean expired) {
+
+    public static NotificationResponse from(PatientNotification notification) {
+        return new NotificationResponse(notification.getId(), notification.getPatientId(), notification.getType(),
+                notification.getTitle(), notification.getMessage(), notification.getPasskey(),
+                notification.getDoctorName(), notification.getIsRead(), notification.getCreatedAt(),
+                notification.getExpiresAt(), notification.isExpired());
+    }
+}
@@ -0,0 +1,10 @@
+package com.medicare.hub.dto;
+
+import java.util.List;
+
+public record NotificationsResponse(boolean success, List<NotificationResponse> notifications, long unreadCount) {
+
+    public NotificationsResponse(List<NotificationResponse> notifications, long unreadCount) {
+        this(true, notifications, unreadCount);
+    }
+}
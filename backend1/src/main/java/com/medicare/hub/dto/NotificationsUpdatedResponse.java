@@ -0,0 +1,16 @@
+package com.medicare.hub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Bulk read / delete: one of updated or deleted is set
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NotificationsUpdatedResponse(boolean success, String message, Integer updated, Integer deleted) {
+
+    public static NotificationsUpdatedResponse markedRead(int updated) {
+        return new NotificationsUpdatedResponse(true, "Notifications marked as read", updated, null);
+    }
+
+    public static NotificationsUpdatedResponse deleted(int deleted) {
+        return new NotificationsUpdatedResponse(true, "Notifications deleted", null, deleted);
+    }
+}
@@ -0,0 +1,12 @@
+package com.medicare.hub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// One row of a patient's appointment list; doctorName is left out if the doctor is gone
+public record PatientAppointment(String id, LocalDate appointmentDate, LocalTime appointmentTime, String status,
+                                 String type, String reason, String notes,
+                                 @JsonInclude(JsonInclude.Include.NON_NULL) String doctorName) {
+}
@@ -0,0 +1,19 @@
+package com.medicare.hub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Everything a doctor sees about a patient they have access to.
+ * Basic and health-data fields are left out when the user or health data row is missing.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PatientDetails(String id, String name, String email, Integer age,
+                             String condition, LocalDate lastVisit, List<String> medications, List<String> allergies,
+                             List<MedicalRecordResponse> medicalRecords, int medicalRecordsCount,
+                             List<PrescriptionResponse> prescriptions, int prescriptionsCount,
+                             List<LabResultResponse> labResults, int labResultsCount,
+                             List<AppointmentResponse> appointments, int appointmentsCount) {
+}
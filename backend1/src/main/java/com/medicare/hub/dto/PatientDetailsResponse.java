@@ -0,0 +1,12 @@
+package com.medicare.hub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public record PatientDetailsResponse(boolean success,
+                                     @JsonInclude(JsonInclude.Include.NON_NULL) String message,
+                                     PatientDetails patient) {
+
+    public PatientDetailsResponse(String message, PatientDetails patient) {
+        this(true, message, patient);
+    }
+}
@@ -0,0 +1,19 @@
+package com.medicare.hub.dto;
+
+import com.medicare.hub.model.PatientHealthData;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record PatientHealthDataResponse(String id, String patientId, String condition, LocalDate lastVisit,
+                                        Integer age, List<String> medications, List<String> allergies,
+                                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public static PatientHealthDataResponse from(PatientHealthData healthData) {
+        return new PatientHealthDataResponse(healthData.getId(), healthData.getPatientId(),
+                healthData.getCondition(), healthData.getLastVisit(), healthData.getAge(),
+                healthData.getMedications(), healthData.getAllergies(),
+                healthData.getCreatedAt(), healthData.getUpdatedAt());
+    }
+}
@@ -0,0 +1,14 @@
+package com.medicare.hub.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The doctor dashboard's patient card: health data plus the latest reading of each vital,
+ * keyed by metric (e.g. "heart-rate"). Vitals never recorded are absent.
+ */
+public record PatientOverview(String id, String name, Integer age, String condition, LocalDate lastVisit,
+                              List<String> medications, List<String> allergies,
+                              Map<String, LatestVital> vitals) {
+}
@@ -0,0 +1,8 @@
+package com.medicare.hub.dto;
+
+public record PatientOverviewResponse(boolean success, PatientOverview patient) {
+
+    public PatientOverviewResponse(PatientOverview patient) {
+        this(true, patient);
+    }
+}
@@ -0,0 +1,9 @@
+package com.medicare.hub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+public record PendingLabResult(String id, String testName, String status, LocalDate date,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) String patientName) {
+}
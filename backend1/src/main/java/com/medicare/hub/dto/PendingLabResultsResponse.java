@@ -0,0 +1,10 @@
+package com.medicare.hub.dto;
+
+import java.util.List;
+
+public record PendingLabResultsResponse(boolean success, int count, List<PendingLabResult> results) {
+
+    public PendingLabResultsResponse(List<PendingLabResult> results) {
+        this(true, results.size(), results);
+    }
+}
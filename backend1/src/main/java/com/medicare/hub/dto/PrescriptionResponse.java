@@ -0,0 +1,20 @@
+package com.medicare.hub.dto;
+
+import com.medicare.hub.model.Prescription;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record PrescriptionResponse(String id, String patientId, String hospital, String doctorName,
+                                   String medicineName, String instructions, String notes,
+                                   LocalDate prescriptionDate, LocalDate endDate, Integer durationDays,
+                                   String status, String prescriptionImage, LocalDateTime createdAt) {
+
+    public static PrescriptionResponse from(Prescription prescription) {
+        return new PrescriptionResponse(prescription.getId(), prescription.getPatientId(),
+                prescription.getHospital(), prescription.getDoctorName(), prescription.getMedicineName(),
+                prescription.getInstructions(), prescription.getNotes(), prescription.getPrescriptionDate(),
+                prescription.getEndDate(), prescription.getDurationDays(), prescription.getStatus(),
+                prescription.getPrescriptionImage(), prescription.getCreatedAt());
+    }
+}
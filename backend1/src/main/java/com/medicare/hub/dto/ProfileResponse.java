@@ -0,0 +1,16 @@
+package com.medicare.hub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// GET has isProfileComplete, PUT has message
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProfileResponse(boolean success, String message, UserProfile user, Boolean isProfileComplete) {
+
+    public static ProfileResponse of(UserProfile user) {
+        return new ProfileResponse(true, null, user, user.profileComplete());
+    }
+
+    public static ProfileResponse updated(UserProfile user) {
+        return new ProfileResponse(true, "Profile updated successfully", user, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.medicare.hub.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// summary counts rows per ProvisionResult status
+public record ProvisionResponse(boolean success, Map<String, Long> summary, List<ProvisionResult> results) {
+
+    public ProvisionResponse(Map<String, Long> summary, List<ProvisionResult> results) {
+        this(true, summary, results);
+    }
+}
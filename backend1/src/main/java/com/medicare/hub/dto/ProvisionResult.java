@@ -0,0 +1,18 @@
+package com.medicare.hub.dto;
+
+// Outcome of one row of a bulk provisioning request; row is the index in the request body
+public record ProvisionResult(int row, String email, String status, String id, String error) {
+
+    public static final String CREATED = "created";
+    public static final String CONFLICT = "conflict";
+    public static final String INVALID = "invalid";
+    public static final String FAILED = "failed";
+
+    public static ProvisionResult created(int row, String email, String id) {
+        return new ProvisionResult(row, email, CREATED, id, null);
+    }
+
+    public static ProvisionResult rejected(int row, String email, String status, String error) {
+        return new ProvisionResult(row, email, status, null, error);
+    }
+}
@@ -0,0 +1,16 @@
+package com.medicare.hub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProvisionUserRequest {
+    private String name;
+    private String email;
+    private String password;
+    private String role;
+    private String hospitalName;
+}
@@ -0,0 +1,8 @@
+package com.medicare.hub.dto;
+
+public record RecordSavedResponse(boolean success, String message, String recordId) {
+
+    public RecordSavedResponse(String message, String recordId) {
+        this(true, message, recordId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.medicare.hub.dto;
+
+import java.util.List;
+
+// records are MedicalRecordResponse, PrescriptionResponse or LabResultResponse, depending on the endpoint
+public record RecordsResponse<T>(boolean success, int count, List<T> records) {
+
+    public RecordsResponse(List<T> records) {
+        this(true, records.size(), records);
+    }
+}
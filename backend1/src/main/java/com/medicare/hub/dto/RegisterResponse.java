@@ -0,0 +1,8 @@
+package com.medicare.hub.dto;
+
+public record RegisterResponse(boolean success, String message, String token, UserResponse user) {
+
+    public RegisterResponse(String token, UserResponse user) {
+        this(true, "User registered successfully", token, user);
+    }
+}
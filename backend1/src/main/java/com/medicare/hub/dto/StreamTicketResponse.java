@@ -0,0 +1,8 @@
+package com.medicare.hub.dto;
+
+public record StreamTicketResponse(boolean success, String ticket) {
+
+    public StreamTicketResponse(String ticket) {
+        this(true, ticket);
+    }
+}
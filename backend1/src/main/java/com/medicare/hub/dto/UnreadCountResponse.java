@@ -0,0 +1,8 @@
+package com.medicare.hub.dto;
+
+public record UnreadCountResponse(boolean success, long unreadCount) {
+
+    public UnreadCountResponse(long unreadCount) {
+        this(true, unreadCount);
+    }
+}
@@ -0,0 +1,20 @@
+package com.medicare.hub.dto;
+
+import com.medicare.hub.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A user's own profile: every User field except the password hash and the tombstone.
+ */
+public record UserProfile(String id, String name, String email, String role, String gender,
+                          LocalDate dateOfBirth, Integer age, String hospitalName, LocalDateTime createdAt,
+                          boolean profileComplete) {
+
+    public static UserProfile from(User user) {
+        return new UserProfile(user.getId(), user.getName(), user.getEmail(), user.getRole(), user.getGender(),
+                user.getDateOfBirth(), user.getAge(), user.getHospitalName(), user.getCreatedAt(),
+                user.isProfileComplete());
+    }
+}
@@ -1,15 +1,11 @@
 package com.medicare.hub.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.medicare.hub.model.User;
 
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class UserResponse {
-    private String id;
-    private String name;
-    private String email;
-    private String role;
+// What the client keeps about the logged-in user
+public record UserResponse(String id, String name, String email, String role) {
+
+    public static UserResponse from(User user) {
+        return new UserResponse(user.getId(), user.getName(), user.getEmail(), user.getRole());
+    }
 }
@@ -0,0 +1,7 @@
+package com.medicare.hub.dto;
+
+/**
+ * Public view of a user: no email, password or personal details.
+ */
+public record UserSummary(String id, String name, String role, String hospitalName) {
+}
@@ -0,0 +1,14 @@
+package com.medicare.hub.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public record UsersPageResponse(boolean success, int count, List<UserSummary> users, int page, int size,
+                                long totalElements, int totalPages) {
+
+    public static UsersPageResponse from(Page<UserSummary> users) {
+        return new UsersPageResponse(true, users.getNumberOfElements(), users.getContent(), users.getNumber(),
+                users.getSize(), users.getTotalElements(), users.getTotalPages());
+    }
+}
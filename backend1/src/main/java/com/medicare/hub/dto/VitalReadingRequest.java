@@ -0,0 +1,17 @@
+package com.medicare.hub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalReadingRequest {
+    // e.g. "heart-rate", see VitalMetric
+    private String metric;
+    private LocalDateTime recordedAt;
+    private Double value;
+}
@@ -0,0 +1,16 @@
+package com.medicare.hub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One metric over a time range, as parallel arrays ready for a chart.
+ * time is epoch milliseconds. Raw series only have values; hourly and daily series have
+ * the bucket average in values, plus min, max and the number of samples per bucket.
+ * truncated means the range held more than the point limit and only its newest points are
+ * here; ask for a coarser resolution or a shorter range for the rest.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record VitalSeries(String metric, String unit, String resolution,
+                          long[] time, double[] values, double[] min, double[] max, int[] samples,
+                          boolean truncated) {
+}
@@ -0,0 +1,8 @@
+package com.medicare.hub.dto;
+
+public record VitalSeriesResponse(boolean success, VitalSeries series) {
+
+    public VitalSeriesResponse(VitalSeries series) {
+        this(true, series);
+    }
+}
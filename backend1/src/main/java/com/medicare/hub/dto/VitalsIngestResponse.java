@@ -0,0 +1,9 @@
+package com.medicare.hub.dto;
+
+// stored < received when some readings had already been uploaded
+public record VitalsIngestResponse(boolean success, int received, int stored) {
+
+    public VitalsIngestResponse(int received, int stored) {
+        this(true, received, stored);
+    }
+}
@@ -0,0 +1,47 @@
+package com.medicare.hub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "access_grants",
+        uniqueConstraints = @UniqueConstraint(name = "uk_access_grants_doctor_patient", columnNames = {"doctor_id", "patient_id"}))
+public class AccessGrant {
+    @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
+    private String id;
+
+    @Column(name = "doctor_id", nullable = false)
+    @Type(UuidStringType.class)
+    private String doctorId;
+
+    @Column(name = "patient_id", nullable = false)
+    @Type(UuidStringType.class)
+    private String patientId;
+
+    @Column(name = "granted_at")
+    private LocalDateTime grantedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (grantedAt == null) {
+            grantedAt = LocalDateTime.now();
+        }
+    }
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(expiresAt);
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
@@ -12,15 +13,23 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments",
+        indexes = {
+                @Index(name = "idx_appointments_patient", columnList = "patient_id"),
+                @Index(name = "idx_appointments_doctor", columnList = "doctor_id")
+        })
 public class Appointment {
     @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
     private String id;
 
     @Column(name = "patient_id", nullable = false)
+    @Type(UuidStringType.class)
     private String patientId;
 
     @Column(name = "doctor_id", nullable = false)
+    @Type(UuidStringType.class)
     private String doctorId;
 
     @Column(name = "appointment_date", nullable = false)
@@ -4,18 +4,22 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "doctor_tasks")
+@Table(name = "doctor_tasks", indexes = @Index(name = "idx_doctor_tasks_doctor", columnList = "doctor_id"))
 public class DoctorTask {
     @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
     private String id;
 
     @Column(name = "doctor_id", nullable = false)
+    @Type(UuidStringType.class)
     private String doctorId;
 
     @Column(nullable = false, length = 500)
@@ -0,0 +1,17 @@
+package com.medicare.hub.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id assigned on persist by {@link UuidV7Generator}, unless the entity already has one.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface GeneratedUuidV7 {
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -11,12 +12,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "lab_results")
+@Table(name = "lab_results", indexes = @Index(name = "idx_lab_results_patient", columnList = "patient_id"))
 public class LabResult {
     @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
     private String id;
 
     @Column(name = "patient_id", nullable = false)
+    @Type(UuidStringType.class)
     private String patientId;
 
     @Column(name = "hospital_name")
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -11,12 +12,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "medical_records")
+@Table(name = "medical_records", indexes = @Index(name = "idx_medical_records_patient", columnList = "patient_id"))
 public class MedicalRecord {
     @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
     private String id;
 
     @Column(name = "patient_id", nullable = false)
+    @Type(UuidStringType.class)
     private String patientId;
 
     private String hospital;
@@ -3,10 +3,12 @@ package com.medicare.hub.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 
@@ -17,12 +19,16 @@ import java.time.LocalDateTime;
 @Table(name = "passkey_access_requests")
 public class PasskeyAccessRequest {
     @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
     private String id;
 
     @Column(name = "doctor_id", nullable = false)
+    @Type(UuidStringType.class)
     private String doctorId;
 
     @Column(name = "patient_id", nullable = false)
+    @Type(UuidStringType.class)
     private String patientId;
 
     @Column(name = "passkey", nullable = false, length = 5)
@@ -40,6 +46,7 @@ public class PasskeyAccessRequest {
     @Column(name = "verified_at")
     private LocalDateTime verifiedAt;
 
+    @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
@@ -1,9 +1,16 @@
 package com.medicare.hub.model;
 
+import com.medicare.hub.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.Type;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,11 +21,17 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "patient_health_data")
+// A partial update only writes the columns it changed
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.HEALTH_DATA)
 public class PatientHealthData {
     @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
     private String Id;
 
     @Column(name = "patient_id", nullable = false, unique = true)
+    @Type(UuidStringType.class)
     private String patientId;
 
     @Column(name = "condition")
@@ -30,11 +43,12 @@ public class PatientHealthData {
     @Column(name = "age")
     private Integer age;
 
+    // Postgres arrays on the row itself, so loading health data never needs a second query
+    @JdbcTypeCode(SqlTypes.ARRAY)
     @Column(name = "medications")
     private List<String> medications;
 
-    @ElementCollection
-    @CollectionTable(name = "patient_allergies", joinColumns = @JoinColumn(name = "patient_id"))
+    @JdbcTypeCode(SqlTypes.ARRAY)
     @Column(name = "allergies")
     private List<String> allergies;
 
@@ -4,19 +4,23 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "patient_notifications")
+@Table(name = "patient_notifications", indexes = @Index(name = "idx_patient_notifications_patient", columnList = "patient_id"))
 public class PatientNotification {
 
     @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
     private String id;
 
     @Column(name = "patient_id", nullable = false)
+    @Type(UuidStringType.class)
     private String patientId;
 
     @Column(name = "type", nullable = false)
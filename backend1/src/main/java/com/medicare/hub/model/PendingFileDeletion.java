@@ -0,0 +1,39 @@
+package com.medicare.hub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+// Uploaded file whose owning row is gone; removed from Cloudinary by FileDeletionService
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "pending_file_deletions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_pending_file_deletions_url", columnNames = "url"))
+public class PendingFileDeletion {
+    @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
+    private String id;
+
+    @Column(name = "url", nullable = false, length = 500)
+    private String url;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -14,9 +15,12 @@ import java.time.LocalDateTime;
 @Table(name = "prescriptions")
 public class Prescription {
     @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
     private String id;
 
     @Column(name = "patient_id", nullable = false)
+    @Type(UuidStringType.class)
     private String patientId;
 
     private String hospital;
@@ -36,6 +40,13 @@ public class Prescription {
     @Column(name = "prescription_date")
     private LocalDate prescriptionDate;
 
+    // Last day the medication should be taken; null means open-ended
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "duration_days")
+    private Integer durationDays;
+
     private String status;
 
     @Column(name = "prescription_image", length = 500)
@@ -52,5 +63,22 @@ public class Prescription {
         if (status == null) {
             status = "Active";
         }
+        if (endDate == null && durationDays != null) {
+            endDate = endOfCourse(durationDays);
+        }
+    }
+
+    // The start date is day 1, so a 7-day course ends 6 days after it
+    public LocalDate endOfCourse(int days) {
+        LocalDate start = prescriptionDate != null ? prescriptionDate
+                : createdAt != null ? createdAt.toLocalDate() : LocalDate.now();
+        return start.plusDays(days - 1L);
+    }
+
+    // An edit that moves the end date back into the future undoes the sweeper's expiry
+    public void reactivateIfRunning(LocalDate today) {
+        if ("Expired".equals(status) && (endDate == null || !endDate.isBefore(today))) {
+            status = "Active";
+        }
     }
 }
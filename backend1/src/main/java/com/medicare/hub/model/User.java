@@ -1,9 +1,13 @@
 package com.medicare.hub.model;
 
+import com.medicare.hub.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -13,8 +17,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
 public class User {
     @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
     private String id;
 
     @Column(nullable = false)
@@ -44,6 +51,10 @@ public class User {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Set when the account is deleted; the row itself goes once UserPurgeService has removed its data
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
@@ -51,6 +62,11 @@ public class User {
         }
     }
 
+    @Transient
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
     @Transient
     public boolean isProfileComplete() {
         if (name == null || age == null || gender == null || dateOfBirth == null) {
@@ -0,0 +1,68 @@
+package com.medicare.hub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_purge_jobs")
+public class UserPurgeJob {
+    @Id
+    @GeneratedUuidV7
+    @Type(UuidStringType.class)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    @Type(UuidStringType.class)
+    private String userId;
+
+    // pending, done
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    // Name of the last purge step finished, null before the first; a restarted job resumes after it
+    @Column(name = "last_step")
+    private String lastStep;
+
+    // Until when the instance running the job holds it; others take the job over once it has passed
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "rows_deleted", nullable = false)
+    private long rowsDeleted;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
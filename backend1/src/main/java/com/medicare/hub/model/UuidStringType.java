@@ -0,0 +1,108 @@
+package com.medicare.hub.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.usertype.EnhancedUserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Ids stay Strings in Java (path variables, tokens, DTOs) but are stored as native uuid:
+ * 16 bytes instead of a 36-char varchar in every key and foreign-key column and index.
+ * Applied with {@code @Type} to each id and user/patient/doctor reference column; a JPA
+ * converter would do for the references, but the spec doesn't apply converters to ids.
+ */
+public class UuidStringType implements EnhancedUserType<String> {
+
+    /** Whether an id from outside (path, request body) can be bound at all; anything else matches no row. */
+    public static boolean isValid(String id) {
+        if (id == null || id.length() != 36) {
+            return false;
+        }
+        try {
+            UUID.fromString(id);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public int getSqlType() {
+        return SqlTypes.UUID;
+    }
+
+    @Override
+    public Class<String> returnedClass() {
+        return String.class;
+    }
+
+    @Override
+    public boolean equals(String x, String y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(String x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public String nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        UUID uuid = rs.getObject(position, UUID.class);
+        return uuid != null ? uuid.toString() : null;
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, String value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.OTHER);
+        } else {
+            st.setObject(index, UUID.fromString(value), Types.OTHER);
+        }
+    }
+
+    @Override
+    public String deepCopy(String value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(String value) {
+        return value;
+    }
+
+    @Override
+    public String assemble(Serializable cached, Object owner) {
+        return (String) cached;
+    }
+
+    // Hibernate renders ids as literals in some generated SQL
+    @Override
+    public String toSqlLiteral(String value) {
+        return "'" + UUID.fromString(value) + "'::uuid";
+    }
+
+    @Override
+    public String toString(String value) {
+        return value;
+    }
+
+    @Override
+    public String fromStringValue(CharSequence sequence) {
+        return sequence.toString();
+    }
+}
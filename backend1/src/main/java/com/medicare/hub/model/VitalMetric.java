@@ -0,0 +1,58 @@
+package com.medicare.hub.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The vitals that can be recorded. Readings store the code (a smallint), never the key,
+ * so codes must never be reused or renumbered.
+ */
+public enum VitalMetric {
+    HEART_RATE(1, "heart-rate", "bpm"),
+    SYSTOLIC_BP(2, "systolic-bp", "mmHg"),
+    DIASTOLIC_BP(3, "diastolic-bp", "mmHg"),
+    SPO2(4, "spo2", "%"),
+    TEMPERATURE(5, "temperature", "°C"),
+    RESPIRATORY_RATE(6, "respiratory-rate", "breaths/min"),
+    BLOOD_GLUCOSE(7, "blood-glucose", "mg/dL"),
+    WEIGHT(8, "weight", "kg");
+
+    private static final Map<String, VitalMetric> BY_KEY = Arrays.stream(values())
+            .collect(Collectors.toMap(VitalMetric::getKey, Function.identity()));
+    private static final Map<Short, VitalMetric> BY_CODE = Arrays.stream(values())
+            .collect(Collectors.toMap(VitalMetric::getCode, Function.identity()));
+
+    private final short code;
+    private final String key;
+    private final String unit;
+
+    VitalMetric(int code, String key, String unit) {
+        this.code = (short) code;
+        this.key = key;
+        this.unit = unit;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    // The name used in URLs and JSON, e.g. "heart-rate"
+    public String getKey() {
+        return key;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public static Optional<VitalMetric> byKey(String key) {
+        return Optional.ofNullable(key == null ? null : BY_KEY.get(key));
+    }
+
+    public static VitalMetric byCode(short code) {
+        return BY_CODE.get(code);
+    }
+}
@@ -0,0 +1,35 @@
+package com.medicare.hub.repository;
+
+import com.medicare.hub.model.AccessGrant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface AccessGrantRepository extends JpaRepository<AccessGrant, String> {
+    Optional<AccessGrant> findByDoctorIdAndPatientId(String doctorId, String patientId);
+
+    // Revoke a grant, returns number of rows removed
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AccessGrant g WHERE g.doctorId = :doctorId AND g.patientId = :patientId")
+    int deleteByDoctorIdAndPatientId(@Param("doctorId") String doctorId, @Param("patientId") String patientId);
+
+    // Delete one chunk of expired grants (for cleanup)
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "access_grants"))
+    @Query(value = "DELETE FROM access_grants WHERE id IN (" +
+            "SELECT id FROM access_grants WHERE expires_at < :now LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
@@ -2,9 +2,11 @@ package com.medicare.hub.repository;
 
 import com.medicare.hub.model.LabResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+@Transactional(readOnly = true)
 public interface LabResultRepository extends JpaRepository<LabResult, String> {
     List<LabResult> findByPatientIdOrderByCreatedAtDesc(String patiendId);
 }
@@ -3,10 +3,12 @@ package com.medicare.hub.repository;
 import com.medicare.hub.model.MedicalRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
+@Transactional(readOnly = true)
 public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, String> {
     List<MedicalRecord> findByPatientIdOrderByCreatedAtDesc(String patientId);
     List<MedicalRecord> findByPatientIdAndCategoryOrderByCreatedAtDesc(String patientId, String category);
@@ -1,8 +1,15 @@
 package com.medicare.hub.repository;
 
 import com.medicare.hub.model.PasskeyAccessRequest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,21 +27,46 @@ public interface PasskeyAccessRequestRepository extends JpaRepository<PasskeyAcc
     // Find pending requests by patient
     List<PasskeyAccessRequest> findByPatientIdAndStatus(String patientId, String status);
 
-    // Find by passkey and patient (for verification)
-    Optional<PasskeyAccessRequest> findByPatientIdAndPasskeyAndStatus(
+    // Find by passkey and patient (verification when the passkey store misses)
+    Optional<PasskeyAccessRequest> findFirstByPatientIdAndPasskeyAndStatusOrderByCreatedAtDesc(
             String patientId,
             String passkey,
             String status
     );
 
-    // Find active request between doctor and patient
-    Optional<PasskeyAccessRequest> findByDoctorIdAndPatientIdAndStatusAndExpiresAtAfter(
+    // Find active request between doctor and patient (when the passkey store misses)
+    Optional<PasskeyAccessRequest> findFirstByDoctorIdAndPatientIdAndStatusAndExpiresAtAfterOrderByCreatedAtDesc(
             String doctorId,
             String patientId,
             String status,
             LocalDateTime currentTime
     );
 
-    // Delete expired requests (for cleanup)
-    void deleteByExpiresAtBefore(LocalDateTime currentTime);
+    // Pending requests still valid (to warm the in-memory passkey store)
+    List<PasskeyAccessRequest> findByStatusAndExpiresAtAfter(String status, LocalDateTime currentTime);
+
+    // Claim a pending request; returns 0 if someone else already used or expired it
+    @Modifying
+    @Transactional
+    @Query("UPDATE PasskeyAccessRequest p SET p.status = 'verified', p.verifiedAt = :verifiedAt " +
+            "WHERE p.id = :id AND p.status = 'pending'")
+    int markVerified(@Param("id") String id, @Param("verifiedAt") LocalDateTime verifiedAt);
+
+    // Flip one chunk of overdue pending requests to expired
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "passkey_access_requests"))
+    @Query(value = "UPDATE passkey_access_requests SET status = 'expired' WHERE id IN (" +
+            "SELECT id FROM passkey_access_requests WHERE status = 'pending' AND expires_at < :now LIMIT :batchSize)",
+            nativeQuery = true)
+    int expireBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    // Delete one chunk of requests that expired before the cutoff (for cleanup)
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "passkey_access_requests"))
+    @Query(value = "DELETE FROM passkey_access_requests WHERE id IN (" +
+            "SELECT id FROM passkey_access_requests WHERE expires_at < :cutoff LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
\ No newline at end of file
@@ -1,12 +1,27 @@
 package com.medicare.hub.repository;
 
+import com.medicare.hub.config.SecondLevelCacheConfig;
 import com.medicare.hub.model.PatientHealthData;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface PatientHealthDataRepository extends JpaRepository<PatientHealthData, String> {
+    // Cached like User, so its loads stay on the primary too (see UserRepository.findById)
+    @Override
+    @Transactional
+    Optional<PatientHealthData> findById(String id);
+
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.HEALTH_DATA_BY_PATIENT)
+    })
     Optional<PatientHealthData> findByPatientId(String patientId);
 }
@@ -1,15 +1,24 @@
 package com.medicare.hub.repository;
 
 import com.medicare.hub.model.PatientNotification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PatientNotificationRepository extends JpaRepository<PatientNotification, String> {
-    // Find all notifications for a patient
+    // Find all notifications for a patient (dashboard list, may be served by a replica)
+    @Transactional(readOnly = true)
     List<PatientNotification> findByPatientIdOrderByCreatedAtDesc(String patientId);
 
     // Find unread notification
@@ -30,9 +39,64 @@ public interface PatientNotificationRepository extends JpaRepository<PatientNoti
             LocalDateTime currentTime
     );
 
+    // Notifications created after a given one (SSE reconnect replay)
+    List<PatientNotification> findByPatientIdAndCreatedAtAfterOrderByCreatedAtAsc(
+            String patientId,
+            LocalDateTime createdAt
+    );
+
     // Count unread notifications
     long countByPatientIdAndIsRead(String patientId, Boolean isRead);
 
-    // Delete old/expired notifications (for cleanup)
-    void deleteByCreatedAtBefore(LocalDateTime cutoffDate);
+    // Bulk mark read, returns number of notifications that were unread
+    @Modifying
+    @Transactional
+    @Query("UPDATE PatientNotification n SET n.isRead = true " +
+            "WHERE n.patientId = :patientId AND n.id IN :ids AND n.isRead = false")
+    int markReadByIds(@Param("patientId") String patientId, @Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PatientNotification n SET n.isRead = true " +
+            "WHERE n.patientId = :patientId AND n.createdAt <= :before AND n.isRead = false")
+    int markReadBefore(@Param("patientId") String patientId, @Param("before") LocalDateTime before);
+
+    // Bulk delete, returns number of notifications removed
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PatientNotification n WHERE n.patientId = :patientId AND n.id IN :ids")
+    int deleteByIds(@Param("patientId") String patientId, @Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PatientNotification n WHERE n.patientId = :patientId AND n.createdAt <= :before")
+    int deleteBefore(@Param("patientId") String patientId, @Param("before") LocalDateTime before);
+
+    // Unread counts for many patients in one query (counter reconciliation)
+    @Query("SELECT n.patientId AS patientId, COUNT(n) AS unread FROM PatientNotification n " +
+            "WHERE n.isRead = false AND n.patientId IN :patientIds GROUP BY n.patientId")
+    List<PatientUnreadCount> countUnreadByPatientIds(@Param("patientIds") Collection<String> patientIds);
+
+    interface PatientUnreadCount {
+        String getPatientId();
+        long getUnread();
+    }
+
+    // Delete one chunk of old notifications (for cleanup)
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "patient_notifications"))
+    @Query(value = "DELETE FROM patient_notifications WHERE id IN (" +
+            "SELECT id FROM patient_notifications WHERE created_at < :cutoff LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteCreatedBeforeBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    // Delete one chunk of passkey notifications whose code has expired
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "patient_notifications"))
+    @Query(value = "DELETE FROM patient_notifications WHERE id IN (" +
+            "SELECT id FROM patient_notifications WHERE passkey IS NOT NULL AND expires_at < :cutoff LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredPasskeyBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
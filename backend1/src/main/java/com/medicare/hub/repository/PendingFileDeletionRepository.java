@@ -0,0 +1,13 @@
+package com.medicare.hub.repository;
+
+import com.medicare.hub.model.PendingFileDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PendingFileDeletionRepository extends JpaRepository<PendingFileDeletion, String> {
+    List<PendingFileDeletion> findByOrderByCreatedAtAsc(Pageable pageable);
+}
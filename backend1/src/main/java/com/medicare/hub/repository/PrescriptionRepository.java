@@ -1,12 +1,35 @@
 package com.medicare.hub.repository;
 
 import com.medicare.hub.model.Prescription;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
+@Transactional(readOnly = true)
 public interface PrescriptionRepository extends JpaRepository<Prescription, String> {
     List<Prescription> findByPatientIdOrderByCreatedAtDesc(String patientId);
+
+    // Current medications: active and not past their end date (covers rows the sweeper hasn't reached yet)
+    @Query("SELECT p FROM Prescription p WHERE p.patientId = :patientId AND p.status = 'Active' " +
+            "AND (p.endDate IS NULL OR p.endDate >= :today) ORDER BY p.createdAt DESC")
+    List<Prescription> findActiveByPatientId(@Param("patientId") String patientId, @Param("today") LocalDate today);
+
+    // Expire one chunk of overdue prescriptions, returns number of rows updated
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "prescriptions"))
+    @Query(value = "UPDATE prescriptions SET status = 'Expired' WHERE id IN (" +
+            "SELECT id FROM prescriptions WHERE status = 'Active' AND end_date < :today LIMIT :batchSize)",
+            nativeQuery = true)
+    int expireBatch(@Param("today") LocalDate today, @Param("batchSize") int batchSize);
 }
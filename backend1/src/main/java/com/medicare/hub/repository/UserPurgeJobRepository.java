@@ -0,0 +1,16 @@
+package com.medicare.hub.repository;
+
+import com.medicare.hub.model.UserPurgeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface UserPurgeJobRepository extends JpaRepository<UserPurgeJob, String> {
+    // A job just claimed on the primary; a lagging replica may not have the claim yet
+    @Override
+    @Transactional
+    Optional<UserPurgeJob> findById(String id);
+}
@@ -1,14 +1,73 @@
 package com.medicare.hub.repository;
 
+import com.medicare.hub.config.SecondLevelCacheConfig;
+import com.medicare.hub.dto.UserSummary;
 import com.medicare.hub.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
+    // Users are second-level cached, so every load of one is a read-write transaction and goes to the
+    // primary: a row read from a lagging replica would be cached as current and served until it expires
+    @Override
+    @Transactional
+    Optional<User> findById(String id);
+
+    @Override
+    @Transactional
+    List<User> findAllById(Iterable<String> ids);
+
+    // Every login looks up by email; the cached id then resolves through the users region
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USERS_BY_EMAIL)
+    })
     Optional<User> findByEmail(String email);
-    Optional<User> findByEmailAndPassword(String email, String password);
-}
 
+    // Listing projection; role / hospital filters are optional. Read-only, so it can be served by a replica
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT new com.medicare.hub.dto.UserSummary(u.id, u.name, u.role, u.hospitalName) FROM User u " +
+            "WHERE u.deletedAt IS NULL " +
+            "AND (:role IS NULL OR u.role = :role) AND (:hospital IS NULL OR u.hospitalName = :hospital)",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.deletedAt IS NULL " +
+                    "AND (:role IS NULL OR u.role = :role) AND (:hospital IS NULL OR u.hospitalName = :hospital)")
+    Page<UserSummary> findSummaries(@Param("role") String role, @Param("hospital") String hospital, Pageable pageable);
+
+    // Returns 0 if the user doesn't exist or is already deleted.
+    // Native writes name their table so Hibernate invalidates only that table's cache regions, not all of them
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users SET deleted_at = :now WHERE id = CAST(:id AS uuid) AND deleted_at IS NULL", nativeQuery = true)
+    int tombstone(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    // Single-statement insert that lets the unique index on email decide; returns 0 if the email is taken
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "INSERT INTO users (id, name, email, password, role, hospital_name, created_at) " +
+            "VALUES (CAST(:id AS uuid), :name, :email, :password, :role, :hospitalName, :createdAt) " +
+            "ON CONFLICT (email) DO NOTHING", nativeQuery = true)
+    int insertIfEmailFree(@Param("id") String id,
+                          @Param("name") String name,
+                          @Param("email") String email,
+                          @Param("password") String password,
+                          @Param("role") String role,
+                          @Param("hospitalName") String hospitalName,
+                          @Param("createdAt") LocalDateTime createdAt);
+}
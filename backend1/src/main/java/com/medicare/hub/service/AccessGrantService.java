@@ -0,0 +1,94 @@
+package com.medicare.hub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.medicare.hub.model.AccessGrant;
+import com.medicare.hub.repository.AccessGrantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Doctor -> patient access grants created by a successful passkey verification.
+ * Only active grants are cached, briefly: a doctor browsing a patient's records costs one query
+ * per cache TTL, while "no grant" is always read from the table, so a grant made on another
+ * instance works right away.
+ * <p>
+ * Revoking drops the grant from this instance's cache only. Other instances may keep honouring
+ * it until their cached copy expires, app.access-grants.cache-ttl-seconds at most.
+ */
+@Slf4j
+@Service
+public class AccessGrantService {
+
+    // Cached active grant for a doctor/patient pair
+    private record CachedGrant(LocalDateTime expiresAt) {
+        boolean isActive() {
+            return LocalDateTime.now().isBefore(expiresAt);
+        }
+    }
+
+    private final AccessGrantRepository accessGrantRepository;
+    private final Duration grantTtl;
+    private final Cache<String, CachedGrant> cache;
+
+    public AccessGrantService(
+            AccessGrantRepository accessGrantRepository,
+            @Value("${app.access-grants.ttl-hours:24}") long ttlHours,
+            @Value("${app.access-grants.cache-size:10000}") long cacheSize,
+            @Value("${app.access-grants.cache-ttl-seconds:30}") long cacheTtlSeconds) {
+        this.accessGrantRepository = accessGrantRepository;
+        this.grantTtl = Duration.ofHours(ttlHours);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+    }
+
+    public boolean hasAccess(String doctorId, String patientId) {
+        String key = key(doctorId, patientId);
+        CachedGrant cached = cache.getIfPresent(key);
+        if (cached != null && cached.isActive()) {
+            return true;
+        }
+
+        // Not cached, or expired since: the table decides, and only a yes is kept
+        Optional<CachedGrant> grant = accessGrantRepository.findByDoctorIdAndPatientId(doctorId, patientId)
+                .map(g -> new CachedGrant(g.getExpiresAt()))
+                .filter(CachedGrant::isActive);
+        grant.ifPresentOrElse(g -> cache.put(key, g), () -> cache.invalidate(key));
+        return grant.isPresent();
+    }
+
+    // Create or extend the grant for this pair
+    public AccessGrant grant(String doctorId, String patientId) {
+        AccessGrant grant = accessGrantRepository.findByDoctorIdAndPatientId(doctorId, patientId)
+                .orElseGet(() -> {
+                    AccessGrant g = new AccessGrant();
+                    g.setDoctorId(doctorId);
+                    g.setPatientId(patientId);
+                    return g;
+                });
+        grant.setGrantedAt(LocalDateTime.now());
+        grant.setExpiresAt(LocalDateTime.now().plus(grantTtl));
+        accessGrantRepository.save(grant);
+
+        cache.put(key(doctorId, patientId), new CachedGrant(grant.getExpiresAt()));
+        log.info("Access granted to doctor {} for patient {} until {}", doctorId, patientId, grant.getExpiresAt());
+        return grant;
+    }
+
+    public boolean revoke(String doctorId, String patientId) {
+        int removed = accessGrantRepository.deleteByDoctorIdAndPatientId(doctorId, patientId);
+        cache.invalidate(key(doctorId, patientId));
+        return removed > 0;
+    }
+
+    private static String key(String doctorId, String patientId) {
+        return doctorId + ":" + patientId;
+    }
+}
@@ -0,0 +1,75 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.repository.AccessGrantRepository;
+import com.medicare.hub.repository.PasskeyAccessRequestRepository;
+import com.medicare.hub.repository.PatientNotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccessRequestCleanupService {
+
+    private final PasskeyStore passkeyStore;
+    private final PasskeyAccessRequestRepository passkeyRequestRepository;
+    private final PatientNotificationRepository notificationRepository;
+    private final AccessGrantRepository accessGrantRepository;
+    private final UnreadCounterService unreadCounterService;
+
+    @Value("${app.cleanup.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.passkeys.retention-days:7}")
+    private int passkeyRetentionDays;
+
+    @Value("${app.notifications.retention-days:90}")
+    private int notificationRetentionDays;
+
+    /**
+     * Expire pending passkeys and purge stale passkey/notification/grant rows.
+     * Every statement touches at most batchSize rows so the sweep never holds long locks.
+     */
+    @Scheduled(fixedDelayString = "${app.passkeys.sweep-ms:60000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime passkeyCutoff = now.minusDays(passkeyRetentionDays);
+        LocalDateTime notificationCutoff = now.minusDays(notificationRetentionDays);
+
+        int evicted = passkeyStore.evictExpired();
+        int expired = drain(() -> passkeyRequestRepository.expireBatch(now, batchSize));
+        int deletedRequests = drain(() -> passkeyRequestRepository.deleteExpiredBatch(passkeyCutoff, batchSize));
+        int deletedPasskeyNotifications =
+                drain(() -> notificationRepository.deleteExpiredPasskeyBatch(passkeyCutoff, batchSize));
+        int deletedNotifications =
+                drain(() -> notificationRepository.deleteCreatedBeforeBatch(notificationCutoff, batchSize));
+        if (deletedPasskeyNotifications + deletedNotifications > 0) {
+            // Don't know which patients lost unread rows; reload counters lazily
+            unreadCounterService.invalidateAll();
+        }
+        // Cached copies of these expire on their own (AccessGrantService checks expiresAt on read)
+        int deletedGrants = drain(() -> accessGrantRepository.deleteExpiredBatch(now, batchSize));
+
+        if (expired + deletedRequests + deletedPasskeyNotifications + deletedNotifications + deletedGrants > 0) {
+            log.info("Access cleanup: evicted {}, expired {}, deleted {} requests, {} notifications and {} grants",
+                    evicted, expired, deletedRequests, deletedPasskeyNotifications + deletedNotifications, deletedGrants);
+        }
+    }
+
+    // Run a chunked statement until it comes back short
+    private int drain(IntSupplier batch) {
+        int total = 0;
+        int affected;
+        do {
+            affected = batch.getAsInt();
+            total += affected;
+        } while (affected == batchSize);
+        return total;
+    }
+}
@@ -2,6 +2,10 @@ package com.medicare.hub.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.medicare.hub.config.FlightRecorderEvents;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,6 +21,7 @@ import java.util.UUID;
 public class CloudinaryService {
 
     private final Cloudinary cloudinary;
+    private final MeterRegistry meterRegistry;
 
     //Upload file to cloudinary and return URL
     public String uploadFile(MultipartFile file, String folder) throws IOException {
@@ -24,6 +29,10 @@ public class CloudinaryService {
             return null;
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        FlightRecorderEvents.Cloudinary event = new FlightRecorderEvents.Cloudinary();
+        event.begin();
+        String outcome = "error";
         try {
             // Generate unique public id  (publicId can change to filename)
             String publicId = UUID.randomUUID().toString();
@@ -44,6 +53,8 @@ public class CloudinaryService {
                     log.warn("Fixed malformed URL from Cloudinary");
                 }
                 log.info("File uploaded to Cloudinary: {}", url);
+                outcome = "success";
+                uploadedBytes(folder).increment(file.getSize());
             } else {
                 log.error("Cloudinary return null URL");
                 throw new RuntimeException("Cloudinary upload failed - no URL returned");
@@ -52,31 +63,64 @@ public class CloudinaryService {
             return url;
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload file to Cloudinary: " + e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("cloudinary.upload", "folder", String.valueOf(folder), "outcome", outcome));
+            commit(event, "upload", folder, file.getSize(), outcome);
         }
     }
 
-    // Delete from cloudinary
-    public void deleteFile(String fileUrl) {
+    // Delete from cloudinary, returns false if Cloudinary could not be reached
+    public boolean deleteFile(String fileUrl) {
         if (fileUrl == null || fileUrl.isEmpty()) {
-            return;
+            return true;
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        FlightRecorderEvents.Cloudinary event = new FlightRecorderEvents.Cloudinary();
+        event.begin();
+        String outcome = "error";
         try {
             // Extract public_id from URL
             String publicId = extractPublicId(fileUrl);
 
             cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
             log.info("File deleted from Cloudinary: {}", publicId);
+            outcome = "success";
+            return true;
         } catch (Exception e) {
             log.error("Cloudinary delete error:", e);
+            return false;
+        } finally {
+            sample.stop(meterRegistry.timer("cloudinary.delete", "outcome", outcome));
+            commit(event, "delete", null, 0, outcome);
         }
     }
 
+    private static void commit(FlightRecorderEvents.Cloudinary event, String operation, String folder,
+                               long bytes, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.folder = folder;
+            event.bytes = bytes;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    private Counter uploadedBytes(String folder) {
+        return Counter.builder("cloudinary.upload.bytes")
+                .baseUnit("bytes")
+                .tag("folder", String.valueOf(folder))
+                .register(meterRegistry);
+    }
+
     /**
      * Extract public_id from Cloudinary URL
      * // URL format: https://res.cloudinary.com/cloud-name/image/upload/v123456/folder/filename.jpg
+     * Package-private for the JMH benchmarks.
      */
-    private String extractPublicId(String url) {
+    String extractPublicId(String url) {
         try {
             // ✅ ADDED: Fix malformed URL before processing
             if (url.startsWith("https:/") && !url.startsWith("https://")) {
@@ -0,0 +1,161 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.dto.UserSummary;
+import com.medicare.hub.model.User;
+import com.medicare.hub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted in-memory index of doctors for the booking modal.
+ * Every word of a doctor's name (and the full name) is a key, so "mit" finds "Dr. Sarah Mitchell";
+ * a prefix query is a range scan over the skip list that stops after {@code limit} distinct doctors.
+ * Loaded once on startup, then kept current by {@link #upsert(User)} / {@link #remove(String)}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DoctorDirectory {
+
+    private static final String DOCTOR_ROLE = "Doctor";
+    private static final int WARM_UP_PAGE_SIZE = 1000;
+    // Sorts before every character a name can contain, so "ann" entries stay ahead of "anna"
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final UserRepository userRepository;
+
+    // term + separator + id -> doctor
+    private final ConcurrentNavigableMap<String, UserSummary> byTerm = new ConcurrentSkipListMap<>();
+    // hospital -> (name + separator + id -> doctor)
+    private final Map<String, ConcurrentNavigableMap<String, UserSummary>> byHospital = new ConcurrentHashMap<>();
+    // id -> currently indexed entry, so an update can remove the old keys
+    private final Map<String, UserSummary> byId = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        PageRequest pageRequest = PageRequest.of(0, WARM_UP_PAGE_SIZE, Sort.by("id"));
+        Page<UserSummary> page;
+        do {
+            page = userRepository.findSummaries(DOCTOR_ROLE, null, pageRequest);
+            page.forEach(this::index);
+            pageRequest = pageRequest.next();
+        } while (page.hasNext());
+        log.info("Indexed {} doctors", byId.size());
+    }
+
+    // Called for every saved user; non-doctors (or users whose role changed) are dropped from the index
+    public void upsert(User user) {
+        if (DOCTOR_ROLE.equals(user.getRole())) {
+            index(new UserSummary(user.getId(), user.getName(), user.getRole(), user.getHospitalName()));
+        } else {
+            remove(user.getId());
+        }
+    }
+
+    public void remove(String id) {
+        byId.computeIfPresent(id, (key, existing) -> {
+            unindex(existing);
+            return null;
+        });
+    }
+
+    public List<UserSummary> search(String prefix, String hospital, int limit) {
+        String term = normalize(prefix);
+        String hospitalKey = normalize(hospital);
+
+        if (term.isEmpty() && !hospitalKey.isEmpty()) {
+            NavigableMap<String, UserSummary> hospitalDoctors = byHospital.get(hospitalKey);
+            return hospitalDoctors == null ? List.of() : take(hospitalDoctors, limit, null);
+        }
+        NavigableMap<String, UserSummary> range = term.isEmpty()
+                ? byTerm
+                : byTerm.subMap(term, true, term + Character.MAX_VALUE, false);
+        return take(range, limit, hospitalKey.isEmpty() ? null : hospitalKey);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private void index(UserSummary doctor) {
+        byId.compute(doctor.id(), (id, existing) -> {
+            if (existing != null) {
+                unindex(existing);
+            }
+            for (String term : termsOf(doctor.name())) {
+                byTerm.put(key(term, id), doctor);
+            }
+            String hospitalKey = normalize(doctor.hospitalName());
+            if (!hospitalKey.isEmpty()) {
+                byHospital.computeIfAbsent(hospitalKey, h -> new ConcurrentSkipListMap<>())
+                        .put(key(normalize(doctor.name()), id), doctor);
+            }
+            return doctor;
+        });
+    }
+
+    private void unindex(UserSummary doctor) {
+        for (String term : termsOf(doctor.name())) {
+            byTerm.remove(key(term, doctor.id()));
+        }
+        String hospitalKey = normalize(doctor.hospitalName());
+        NavigableMap<String, UserSummary> hospitalDoctors = byHospital.get(hospitalKey);
+        if (hospitalDoctors != null) {
+            hospitalDoctors.remove(key(normalize(doctor.name()), doctor.id()));
+        }
+    }
+
+    // Walks the range in order; a doctor matching on several words is returned once
+    private List<UserSummary> take(NavigableMap<String, UserSummary> range, int limit, String hospitalKey) {
+        Map<String, UserSummary> matches = new LinkedHashMap<>();
+        for (UserSummary doctor : range.values()) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            if (hospitalKey == null || hospitalKey.equals(normalize(doctor.hospitalName()))) {
+                matches.putIfAbsent(doctor.id(), doctor);
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    private static List<String> termsOf(String name) {
+        String full = normalize(name);
+        if (full.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        terms.add(full);
+        String[] words = full.split("[\\s.]+");
+        for (int i = 1; i < words.length; i++) {
+            if (!words[i].isEmpty()) {
+                terms.add(words[i]);
+            }
+        }
+        return terms;
+    }
+
+    private static String key(String term, String id) {
+        return term + KEY_SEPARATOR + id;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
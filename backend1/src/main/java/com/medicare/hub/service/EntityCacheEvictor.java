@@ -0,0 +1,39 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.config.SecondLevelCacheConfig;
+import com.medicare.hub.model.PatientHealthData;
+import com.medicare.hub.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Second-level cache eviction for writes Hibernate doesn't see (JdbcTemplate).
+ * Writes through repositories need nothing from here.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // A cached findByEmail may say "no such user" for an email that now exists
+    public void usersInserted() {
+        cache().evictQueryRegion(SecondLevelCacheConfig.USERS_BY_EMAIL);
+    }
+
+    public void userPurged(String userId) {
+        Cache cache = cache();
+        cache.evictEntityData(User.class, userId);
+        cache.evictQueryRegion(SecondLevelCacheConfig.USERS_BY_EMAIL);
+        // Health data is keyed by its own id, not the patient's; purges are rare enough to drop the regions
+        cache.evictEntityData(PatientHealthData.class);
+        cache.evictQueryRegion(SecondLevelCacheConfig.HEALTH_DATA_BY_PATIENT);
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
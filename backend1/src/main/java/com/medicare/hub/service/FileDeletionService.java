@@ -0,0 +1,54 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.model.PendingFileDeletion;
+import com.medicare.hub.repository.PendingFileDeletionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Works off the pending_file_deletions queue filled by UserPurgeService.
+ * A failed Cloudinary call leaves the row for the next pass; after maxAttempts it is dropped
+ * with a warning so one bad URL can't block the queue forever.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileDeletionService {
+
+    private final PendingFileDeletionRepository pendingFileDeletionRepository;
+    private final CloudinaryService cloudinaryService;
+
+    @Value("${app.files.deletion-batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.files.deletion-max-attempts:10}")
+    private int maxAttempts;
+
+    @Scheduled(fixedDelayString = "${app.files.deletion-poll-ms:30000}")
+    public void processQueue() {
+        List<PendingFileDeletion> batch =
+                pendingFileDeletionRepository.findByOrderByCreatedAtAsc(PageRequest.of(0, batchSize));
+        int deleted = 0;
+        for (PendingFileDeletion pending : batch) {
+            if (cloudinaryService.deleteFile(pending.getUrl())) {
+                pendingFileDeletionRepository.delete(pending);
+                deleted++;
+            } else if (pending.getAttempts() + 1 >= maxAttempts) {
+                log.warn("⚠️ Giving up on deleting file after {} attempts: {}", maxAttempts, pending.getUrl());
+                pendingFileDeletionRepository.delete(pending);
+            } else {
+                pending.setAttempts(pending.getAttempts() + 1);
+                pendingFileDeletionRepository.save(pending);
+            }
+        }
+        if (deleted > 0) {
+            log.info("🗑 Deleted {} queued files", deleted);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.config.FlightRecorderEvents;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Takes time-boxed JDK Flight Recorder recordings on demand: the JDK's "profile" settings
+ * (CPU samples, allocation, locks, GC, socket and file I/O) plus every {@link FlightRecorderEvents}
+ * event. One recording at a time, so an admin can't stack them up on a loaded instance.
+ * <p>
+ * The recording runs in the background: JFR stops it after its duration and writes it to a temp
+ * file, which stays available for download until the next recording replaces it.
+ */
+@Slf4j
+@Service
+public class FlightRecordingService {
+
+    // Events in the "profile" settings that capture system properties, environment variables,
+    // the JVM command line and other processes' command lines, any of which can carry secrets
+    static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialSystemProperty",
+            "jdk.InitialEnvironmentVariable",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess");
+
+    public record Status(long number, boolean finished, Instant startedAt, Instant endsAt) {
+    }
+
+    private Recording current;
+    private Path currentFile;
+
+    @Value("${app.jfr.max-seconds:300}")
+    private int maxSeconds;
+
+    public int maxSeconds() {
+        return maxSeconds;
+    }
+
+    /**
+     * Starts a recording of the given number of seconds (capped at app.jfr.max-seconds) and
+     * returns right away. Empty if another recording is still running.
+     */
+    public synchronized Optional<Status> start(int seconds) throws IOException, ParseException {
+        if (current != null && !isFinished(current)) {
+            return Optional.empty();
+        }
+        discardCurrent();
+
+        Duration duration = Duration.ofSeconds(Math.min(Math.max(seconds, 1), maxSeconds));
+        Path file = Files.createTempFile("medicare-hub-", ".jfr");
+        Recording recording = new Recording(Configuration.getConfiguration("profile"));
+        try {
+            recording.setName("medicare-hub-on-demand");
+            SENSITIVE_EVENTS.forEach(recording::disable);
+            recording.enable(FlightRecorderEvents.Request.class).withoutThreshold();
+            recording.enable(FlightRecorderEvents.RepositoryCall.class).withoutThreshold();
+            recording.enable(FlightRecorderEvents.Cloudinary.class).withoutThreshold();
+            recording.setDestination(file);
+            recording.setDuration(duration);
+            recording.start();
+        } catch (IOException | RuntimeException e) {
+            recording.close();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        current = recording;
+        currentFile = file;
+        log.info("⏺ Flight recording {} started for {}s", recording.getId(), duration.toSeconds());
+        return Optional.of(statusOf(recording));
+    }
+
+    public synchronized Optional<Status> status(long number) {
+        return currentIf(number).map(FlightRecordingService::statusOf);
+    }
+
+    // The recording's file once JFR has written it; empty for an unknown or replaced number
+    public synchronized Optional<Path> file(long number) {
+        return currentIf(number).filter(FlightRecordingService::isFinished).map(recording -> currentFile);
+    }
+
+    @PreDestroy
+    synchronized void discardCurrent() throws IOException {
+        if (current == null) {
+            return;
+        }
+        current.close();
+        Files.deleteIfExists(currentFile);
+        current = null;
+        currentFile = null;
+    }
+
+    private Optional<Recording> currentIf(long number) {
+        return Optional.ofNullable(current).filter(recording -> recording.getId() == number);
+    }
+
+    private static boolean isFinished(Recording recording) {
+        RecordingState state = recording.getState();
+        return state == RecordingState.STOPPED || state == RecordingState.CLOSED;
+    }
+
+    private static Status statusOf(Recording recording) {
+        Instant startedAt = recording.getStartTime();
+        return new Status(recording.getId(), isFinished(recording),
+                startedAt, startedAt.plus(recording.getDuration()));
+    }
+}
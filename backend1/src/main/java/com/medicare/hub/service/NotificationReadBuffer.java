@@ -0,0 +1,74 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.repository.PatientNotificationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for single "mark as read" calls.
+ * Marks are collected per patient and flushed as one UPDATE ... WHERE id IN (...) per patient
+ * every few hundred milliseconds, instead of a findById + save per click.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationReadBuffer {
+
+    private final PatientNotificationRepository notificationRepository;
+    private final UnreadCounterService unreadCounterService;
+
+    private final Map<String, Set<String>> pending = new ConcurrentHashMap<>();
+
+    public void markRead(String patientId, String notificationId) {
+        requeue(patientId, Set.of(notificationId));
+    }
+
+    // Flush one patient's marks now, so their next read sees them
+    public void flush(String patientId) {
+        Set<String> ids = pending.remove(patientId);
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        int updated;
+        try {
+            updated = notificationRepository.markReadByIds(patientId, new ArrayList<>(ids));
+        } catch (RuntimeException e) {
+            // Keep the marks for the next flush instead of dropping them
+            requeue(patientId, ids);
+            throw e;
+        }
+        unreadCounterService.decrement(patientId, updated);
+    }
+
+    private void requeue(String patientId, Set<String> notificationIds) {
+        pending.compute(patientId, (id, ids) -> {
+            Set<String> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            set.addAll(notificationIds);
+            return set;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.read-flush-ms:250}")
+    public void flushAll() {
+        for (String patientId : pending.keySet()) {
+            try {
+                flush(patientId);
+            } catch (Exception e) {
+                log.error("Failed to flush read marks for patient {}", patientId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushAll();
+    }
+}
@@ -0,0 +1,119 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.dto.NotificationResponse;
+import com.medicare.hub.model.PatientNotification;
+import com.medicare.hub.model.UuidStringType;
+import com.medicare.hub.repository.PatientNotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-patient registry of open Server-Sent Events streams.
+ * New notifications are pushed to every stream the patient has open, so idle clients cost
+ * nothing but a periodic heartbeat instead of two queries every 30 seconds.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationStreamService {
+
+    private static final long RECONNECT_MILLIS = 5_000;
+
+    private final PatientNotificationRepository notificationRepository;
+
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${app.notifications.stream-timeout-ms:1800000}")
+    private long streamTimeoutMillis;
+
+    public SseEmitter subscribe(String patientId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        subscribers.compute(patientId, (id, emitters) -> {
+            Set<SseEmitter> set = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            set.add(emitter);
+            return set;
+        });
+
+        Runnable unsubscribe = () -> unsubscribe(patientId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        try {
+            emitter.send(SseEmitter.event().comment("connected").reconnectTime(RECONNECT_MILLIS));
+            // Client-supplied; anything that isn't one of our ids just means nothing to replay
+            if (UuidStringType.isValid(lastEventId)) {
+                replaySince(patientId, lastEventId, emitter);
+            }
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public void publish(PatientNotification notification) {
+        Set<SseEmitter> emitters = subscribers.get(notification.getPatientId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(notification.getPatientId(), emitter, notification);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.heartbeat-ms:20000}")
+    public void heartbeat() {
+        subscribers.forEach((patientId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(patientId, emitter);
+                }
+            }
+        });
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Resend everything the client missed while disconnected
+    private void replaySince(String patientId, String lastEventId, SseEmitter emitter) {
+        notificationRepository.findById(lastEventId)
+                .filter(last -> last.getPatientId().equals(patientId))
+                .ifPresent(last -> {
+                    List<PatientNotification> missed = notificationRepository
+                            .findByPatientIdAndCreatedAtAfterOrderByCreatedAtAsc(patientId, last.getCreatedAt());
+                    missed.forEach(n -> send(patientId, emitter, n));
+                });
+    }
+
+    private void send(String patientId, SseEmitter emitter, PatientNotification notification) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(notification.getId())
+                    .name("notification")
+                    .data(NotificationResponse.from(notification)));
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(patientId, emitter);
+        }
+    }
+
+    private void unsubscribe(String patientId, SseEmitter emitter) {
+        subscribers.computeIfPresent(patientId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,156 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.model.PasskeyAccessRequest;
+import com.medicare.hub.repository.PasskeyAccessRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of pending passkey requests.
+ * Verification is a hash lookup instead of a scan of passkey_access_requests, and expired
+ * entries are dropped a whole time-wheel bucket (one minute) at a time.
+ * The store is warmed from the database on startup, but passkey_access_requests stays the
+ * source of truth: a miss falls back to it, so a request created by another instance (or
+ * after this one warmed up) is still found. Claims go through the row (markVerified).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasskeyStore {
+
+    private static final long BUCKET_SECONDS = 60;
+
+    private final PasskeyAccessRequestRepository passkeyRequestRepository;
+
+    // patientId:passkey -> pending request
+    private final Map<String, PendingPasskey> byPasskey = new ConcurrentHashMap<>();
+    // doctorId:patientId -> pending request
+    private final Map<String, PendingPasskey> byDoctorPatient = new ConcurrentHashMap<>();
+    // expiry bucket -> entries expiring in that minute
+    private final ConcurrentNavigableMap<Long, Set<PendingPasskey>> wheel = new ConcurrentSkipListMap<>();
+
+    public record PendingPasskey(String requestId, String doctorId, String patientId, String passkey,
+                                 LocalDateTime expiresAt) {
+        public boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiresAt);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<PasskeyAccessRequest> pending =
+                passkeyRequestRepository.findByStatusAndExpiresAtAfter("pending", LocalDateTime.now());
+        pending.forEach(this::put);
+        log.info("Loaded {} pending passkey requests", pending.size());
+    }
+
+    /**
+     * Indexes a pending request. Returns false, indexing nothing, if another pending request
+     * of the same patient already holds this passkey; the caller picks a new one.
+     */
+    public boolean put(PasskeyAccessRequest request) {
+        PendingPasskey entry = toEntry(request);
+        PendingPasskey holder = byPasskey.putIfAbsent(passkeyKey(entry.patientId(), entry.passkey()), entry);
+        if (holder != null && !holder.requestId().equals(entry.requestId())) {
+            return false;
+        }
+        byDoctorPatient.put(doctorPatientKey(entry.doctorId(), entry.patientId()), entry);
+        wheel.computeIfAbsent(bucketOf(entry.expiresAt()), b -> ConcurrentHashMap.newKeySet()).add(entry);
+        return true;
+    }
+
+    // Entry may be expired; callers decide how to report that
+    public Optional<PendingPasskey> find(String patientId, String passkey) {
+        PendingPasskey entry = byPasskey.get(passkeyKey(patientId, passkey));
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        return passkeyRequestRepository
+                .findFirstByPatientIdAndPasskeyAndStatusOrderByCreatedAtDesc(patientId, passkey, "pending")
+                .map(this::cache);
+    }
+
+    public Optional<PendingPasskey> findActive(String doctorId, String patientId) {
+        PendingPasskey entry = byDoctorPatient.get(doctorPatientKey(doctorId, patientId));
+        if (entry == null) {
+            return passkeyRequestRepository
+                    .findFirstByDoctorIdAndPatientIdAndStatusAndExpiresAtAfterOrderByCreatedAtDesc(
+                            doctorId, patientId, "pending", LocalDateTime.now())
+                    .map(this::cache);
+        }
+        return entry.isExpired() ? Optional.empty() : Optional.of(entry);
+    }
+
+    public void remove(PendingPasskey entry) {
+        byPasskey.remove(passkeyKey(entry.patientId(), entry.passkey()), entry);
+        byDoctorPatient.remove(doctorPatientKey(entry.doctorId(), entry.patientId()), entry);
+        Set<PendingPasskey> bucket = wheel.get(bucketOf(entry.expiresAt()));
+        if (bucket != null) {
+            bucket.remove(entry);
+        }
+    }
+
+    // Drop every bucket that has fully elapsed, returns number of entries evicted
+    public int evictExpired() {
+        long currentBucket = bucketOf(LocalDateTime.now());
+        int evicted = 0;
+
+        ConcurrentNavigableMap<Long, Set<PendingPasskey>> elapsed = wheel.headMap(currentBucket);
+        for (Long bucket : elapsed.keySet()) {
+            Set<PendingPasskey> entries = wheel.remove(bucket);
+            if (entries == null) {
+                continue;
+            }
+            for (PendingPasskey entry : entries) {
+                byPasskey.remove(passkeyKey(entry.patientId(), entry.passkey()), entry);
+                byDoctorPatient.remove(doctorPatientKey(entry.doctorId(), entry.patientId()), entry);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private PendingPasskey cache(PasskeyAccessRequest request) {
+        put(request);
+        return toEntry(request);
+    }
+
+    private static PendingPasskey toEntry(PasskeyAccessRequest request) {
+        return new PendingPasskey(
+                request.getId(),
+                request.getDoctorId(),
+                request.getPatientId(),
+                request.getPasskey(),
+                request.getExpiresAt()
+        );
+    }
+
+    public int size() {
+        return byPasskey.size();
+    }
+
+    private static long bucketOf(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond() / BUCKET_SECONDS;
+    }
+
+    private static String passkeyKey(String patientId, String passkey) {
+        return patientId + ":" + passkey;
+    }
+
+    private static String doctorPatientKey(String doctorId, String patientId) {
+        return doctorId + ":" + patientId;
+    }
+}
@@ -0,0 +1,151 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.config.SqlStatementCounter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt hashing and verification on a dedicated, bounded pool so a login burst can't
+ * tie up Tomcat's request threads. When the queue is full, work is rejected immediately
+ * (the returned future fails with RejectedExecutionException) rather than piling up.
+ * Rows created before hashing was introduced hold plaintext; they still verify and are
+ * flagged by {@link #needsRehash(String)}.
+ * Futures complete on the hashing pool: callers that go on to touch the database should
+ * hop off it (thenApplyAsync with an I/O executor) so a slow query can't hold a hashing thread.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long targetMillis;
+    // Compared against when the account doesn't exist, so that case takes as long as a wrong password
+    private final String dummyHash;
+
+    public PasswordHashingService(
+            @Value("${app.security.bcrypt-strength:10}") int strength,
+            @Value("${app.security.hash-threads:0}") int threads,
+            @Value("${app.security.hash-queue-size:64}") int queueSize,
+            @Value("${app.security.hash-target-ms:100}") long targetMillis) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.targetMillis = targetMillis;
+        this.dummyHash = encoder.encode("no-such-account");
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    // Bulk imports: one task per worker, each hashing a slice, so the batch never floods
+    // the queue that interactive logins share. Results keep the input order.
+    public CompletableFuture<List<String>> hashAll(List<String> rawPasswords) {
+        if (rawPasswords.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        int slices = Math.min(executor.getMaximumPoolSize(), rawPasswords.size());
+        int sliceSize = (rawPasswords.size() + slices - 1) / slices;
+
+        List<CompletableFuture<List<String>>> parts = new ArrayList<>();
+        for (int from = 0; from < rawPasswords.size(); from += sliceSize) {
+            List<String> slice = rawPasswords.subList(from, Math.min(from + sliceSize, rawPasswords.size()));
+            parts.add(submit(() -> slice.stream().map(encoder::encode).toList()));
+        }
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenApply(done -> parts.stream()
+                        .flatMap(part -> part.join().stream())
+                        .toList());
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String storedPassword) {
+        if (storedPassword == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (!isHashed(storedPassword)) {
+            // Legacy plaintext row, compare in constant time
+            return CompletableFuture.completedFuture(MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8)));
+        }
+        return submit(() -> encoder.matches(rawPassword, storedPassword));
+    }
+
+    // Burns one verification and completes with false; for logins to unknown or deleted accounts
+    public CompletableFuture<Boolean> matchesNone(String rawPassword) {
+        return submit(() -> {
+            encoder.matches(rawPassword, dummyHash);
+            return false;
+        });
+    }
+
+    // Plaintext legacy rows and hashes made with a lower cost factor
+    public boolean needsRehash(String storedPassword) {
+        return !isHashed(storedPassword) || encoder.upgradeEncoding(storedPassword);
+    }
+
+    // Log how long one hash takes here, to tune app.security.bcrypt-strength
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportCost() {
+        submit(() -> {
+            encoder.encode("calibration-password"); // warm-up
+            long start = System.nanoTime();
+            encoder.encode("calibration-password");
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }).thenAccept(millis -> {
+            if (millis < targetMillis / 2 || millis > targetMillis * 2) {
+                log.warn("BCrypt hash takes {}ms on this host, target is {}ms; adjust app.security.bcrypt-strength",
+                        millis, targetMillis);
+            } else {
+                log.info("BCrypt hash takes {}ms on this host (target {}ms)", millis, targetMillis);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, SqlStatementCounter.propagating(executor));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean isHashed(String storedPassword) {
+        return storedPassword.startsWith("$2a$") || storedPassword.startsWith("$2b$") || storedPassword.startsWith("$2y$");
+    }
+}
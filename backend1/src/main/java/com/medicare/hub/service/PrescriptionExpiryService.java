@@ -0,0 +1,41 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.repository.PrescriptionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrescriptionExpiryService {
+
+    private final PrescriptionRepository prescriptionRepository;
+
+    @Value("${app.prescriptions.expiry-batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Mark prescriptions past their end date as Expired.
+     * Runs in chunks so each UPDATE is its own short transaction and never locks the whole table.
+     */
+    @Scheduled(cron = "${app.prescriptions.expiry-cron:0 5 0 * * *}")
+    public void expirePrescriptions() {
+        LocalDate today = LocalDate.now();
+        int total = 0;
+        int updated;
+
+        do {
+            updated = prescriptionRepository.expireBatch(today, batchSize);
+            total += updated;
+        } while (updated == batchSize);
+
+        if (total > 0) {
+            log.info("Expired {} prescriptions", total);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.medicare.hub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rate limits for the patient access flow. Checked before any repository call,
+ * so a rejected request costs a hash lookup and nothing else.
+ * A request draws from several buckets; if one rejects it, the tokens already taken are refunded.
+ */
+@Service
+public class RateLimitService {
+
+    private final TokenBucketRateLimiter accessRequestByDoctor;
+    private final TokenBucketRateLimiter accessRequestByPatient;
+    private final TokenBucketRateLimiter verifyByDoctor;
+    private final TokenBucketRateLimiter verifyByPatient;
+    private final TokenBucketRateLimiter byClientIp;
+
+    public RateLimitService(
+            @Value("${app.rate-limit.access-request.doctor.capacity:10}") int accessDoctorCapacity,
+            @Value("${app.rate-limit.access-request.doctor.per-minute:5}") int accessDoctorPerMinute,
+            @Value("${app.rate-limit.access-request.patient.capacity:3}") int accessPatientCapacity,
+            @Value("${app.rate-limit.access-request.patient.per-minute:1}") int accessPatientPerMinute,
+            @Value("${app.rate-limit.verify.doctor.capacity:10}") int verifyDoctorCapacity,
+            @Value("${app.rate-limit.verify.doctor.per-minute:5}") int verifyDoctorPerMinute,
+            @Value("${app.rate-limit.verify.patient.capacity:5}") int verifyPatientCapacity,
+            @Value("${app.rate-limit.verify.patient.per-minute:2}") int verifyPatientPerMinute,
+            @Value("${app.rate-limit.ip.capacity:30}") int ipCapacity,
+            @Value("${app.rate-limit.ip.per-minute:30}") int ipPerMinute,
+            @Value("${app.rate-limit.max-keys:100000}") long maxKeys) {
+        this.accessRequestByDoctor = new TokenBucketRateLimiter(accessDoctorCapacity, accessDoctorPerMinute, maxKeys);
+        this.accessRequestByPatient = new TokenBucketRateLimiter(accessPatientCapacity, accessPatientPerMinute, maxKeys);
+        this.verifyByDoctor = new TokenBucketRateLimiter(verifyDoctorCapacity, verifyDoctorPerMinute, maxKeys);
+        this.verifyByPatient = new TokenBucketRateLimiter(verifyPatientCapacity, verifyPatientPerMinute, maxKeys);
+        this.byClientIp = new TokenBucketRateLimiter(ipCapacity, ipPerMinute, maxKeys);
+    }
+
+    public boolean tryAccessRequest(String doctorId, String patientEmail, String clientIp) {
+        if (!byClientIp.tryAcquire(clientIp)) {
+            return false;
+        }
+        if (!accessRequestByDoctor.tryAcquire(doctorId)) {
+            byClientIp.refund(clientIp);
+            return false;
+        }
+        if (!accessRequestByPatient.tryAcquire(normalize(patientEmail))) {
+            accessRequestByDoctor.refund(doctorId);
+            byClientIp.refund(clientIp);
+            return false;
+        }
+        return true;
+    }
+
+    public boolean tryVerifyPasskey(String doctorId, String patientEmail, String clientIp) {
+        if (!byClientIp.tryAcquire(clientIp)) {
+            return false;
+        }
+        if (!verifyByDoctor.tryAcquire(doctorId)) {
+            byClientIp.refund(clientIp);
+            return false;
+        }
+        if (!verifyByPatient.tryAcquire(normalize(patientEmail))) {
+            verifyByDoctor.refund(doctorId);
+            byClientIp.refund(clientIp);
+            return false;
+        }
+        return true;
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,92 @@
+package com.medicare.hub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Token buckets keyed by an arbitrary string, each behind its own monitor so that
+ * unrelated keys never contend.
+ * Each bucket holds at most {@code capacity} tokens and refills continuously.
+ * <p>
+ * Buckets live in a Caffeine cache bounded to {@code maxKeys}: a bucket idle long enough to
+ * refill completely expires (it behaves the same as a new one), and a flood of distinct keys
+ * evicts the least recently used buckets instead of growing the heap. An evicted bucket comes
+ * back full, so the bound should sit well above the number of keys active within a refill period.
+ */
+public class TokenBucketRateLimiter {
+
+    // Requests without a key (no client IP, no email) share one bucket rather than skipping the limit
+    static final String ANONYMOUS = "\u0000anonymous";
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final Cache<String, Bucket> buckets;
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+    }
+
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, long maxKeys) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000d;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maxKeys);
+        if (refillPerMinute > 0) {
+            builder.expireAfterAccess(Duration.ofNanos((long) Math.ceil(capacity / tokensPerNano)));
+        }
+        this.buckets = builder.build();
+    }
+
+    // Take one token for key; false if the bucket is empty
+    public boolean tryAcquire(String key) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(keyOf(key), k -> newBucket(now));
+
+        synchronized (bucket) {
+            refill(bucket, now);
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens -= 1;
+            return true;
+        }
+    }
+
+    // Give back a token taken by tryAcquire, when a later check rejected the request anyway
+    public void refund(String key) {
+        Bucket bucket = buckets.getIfPresent(keyOf(key));
+        if (bucket == null) {
+            return;
+        }
+        synchronized (bucket) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + 1);
+        }
+    }
+
+    public long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private Bucket newBucket(long now) {
+        Bucket bucket = new Bucket();
+        bucket.tokens = capacity;
+        bucket.lastRefillNanos = now;
+        return bucket;
+    }
+
+    private void refill(Bucket bucket, long now) {
+        long elapsed = now - bucket.lastRefillNanos;
+        if (elapsed > 0) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + elapsed * tokensPerNano);
+            bucket.lastRefillNanos = now;
+        }
+    }
+
+    private static String keyOf(String key) {
+        return key != null ? key : ANONYMOUS;
+    }
+}
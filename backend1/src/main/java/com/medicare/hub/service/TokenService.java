@@ -0,0 +1,185 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact HMAC-SHA256 signed session tokens: base64url("id|role|expiresAt|tokenId") + "." + base64url(signature).
+ * Verification needs no database access, only a small set of revoked token ids and users,
+ * pruned as they expire.
+ * <p>
+ * That set lives in this JVM only. Logging out or purging an account on one instance is not seen
+ * by the others, and a restart forgets it: the revoked tokens verify again until they expire,
+ * app.security.token-ttl-hours at most. Run a single instance, or keep the set in shared storage
+ * before relying on revocation across instances or restarts.
+ * <p>
+ * Stream tickets stand in for the token where it would end up in a URL (EventSource can't set
+ * headers): base64url("stream|id|role|expiresAt|ticketId"), signed the same way, valid for
+ * app.security.stream-ticket-ttl-seconds and redeemable once on this instance.
+ */
+@Slf4j
+@Service
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String STREAM_TICKET = "stream";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public record AuthenticatedUser(String id, String role, long expiresAt, String tokenId) {
+        public boolean isDoctor() {
+            return "Doctor".equalsIgnoreCase(role);
+        }
+
+        public boolean isAdmin() {
+            return "Admin".equalsIgnoreCase(role);
+        }
+    }
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Duration streamTicketTtl;
+    // Mac isn't thread-safe; one per thread, all sharing the cached key
+    private final ThreadLocal<Mac> mac;
+    // tokenId -> expiry (epoch seconds); this instance only, see above
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // userId -> epoch second until which every token of that user is rejected
+    private final Map<String, Long> revokedUsers = new ConcurrentHashMap<>();
+    // ticketId -> expiry (epoch seconds), stream tickets already used
+    private final Map<String, Long> redeemedTickets = new ConcurrentHashMap<>();
+
+    public TokenService(
+            @Value("${app.security.token-secret:}") String secret,
+            @Value("${app.security.token-ttl-hours:12}") long ttlHours,
+            @Value("${app.security.stream-ticket-ttl-seconds:30}") long streamTicketTtlSeconds) {
+        byte[] keyBytes;
+        if (secret == null || secret.isEmpty()) {
+            log.warn("app.security.token-secret not set; using a random key, sessions won't survive a restart");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.streamTicketTtl = Duration.ofSeconds(streamTicketTtlSeconds);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac m = Mac.getInstance(ALGORITHM);
+                m.init(key);
+                return m;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC unavailable", e);
+            }
+        });
+    }
+
+    public String issue(User user) {
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        return sign(user.getId() + "|" + user.getRole() + "|" + expiresAt + "|" + UUID.randomUUID());
+    }
+
+    public Optional<AuthenticatedUser> verify(String token) {
+        String[] parts = payloadOf(token);
+        if (parts == null || parts.length != 4) {
+            return Optional.empty();
+        }
+        return toUser(parts[0], parts[1], parts[2], parts[3])
+                .filter(user -> !revoked.containsKey(user.tokenId()));
+    }
+
+    public String issueStreamTicket(AuthenticatedUser user) {
+        long expiresAt = Instant.now().plus(streamTicketTtl).getEpochSecond();
+        return sign(STREAM_TICKET + "|" + user.id() + "|" + user.role() + "|" + expiresAt + "|" + UUID.randomUUID());
+    }
+
+    // Valid once: the ticket id is remembered until the ticket would have expired anyway
+    public Optional<AuthenticatedUser> redeemStreamTicket(String ticket) {
+        String[] parts = payloadOf(ticket);
+        if (parts == null || parts.length != 5 || !STREAM_TICKET.equals(parts[0])) {
+            return Optional.empty();
+        }
+        return toUser(parts[1], parts[2], parts[3], parts[4])
+                .filter(user -> redeemedTickets.putIfAbsent(user.tokenId(), user.expiresAt()) == null);
+    }
+
+    public void revoke(AuthenticatedUser user) {
+        revoked.put(user.tokenId(), user.expiresAt());
+    }
+
+    // Deleted accounts: no token issued before now may outlive it
+    public void revokeAll(String userId) {
+        revokedUsers.put(userId, Instant.now().plus(ttl).getEpochSecond());
+    }
+
+    // Expired tokens fail verification anyway, no need to remember them
+    @Scheduled(fixedDelayString = "${app.security.revocation-prune-ms:600000}")
+    public void pruneRevoked() {
+        long now = Instant.now().getEpochSecond();
+        revoked.values().removeIf(expiresAt -> expiresAt < now);
+        revokedUsers.values().removeIf(until -> until < now);
+        redeemedTickets.values().removeIf(expiresAt -> expiresAt < now);
+    }
+
+    private String sign(String payload) {
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + "." + ENCODER.encodeToString(signature(encodedPayload));
+    }
+
+    // The payload's fields if the signature matches, else null
+    private String[] payloadOf(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.lastIndexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            String encodedPayload = token.substring(0, dot);
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, signature(encodedPayload))) {
+                return null;
+            }
+            return new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            // Bad base64
+            return null;
+        }
+    }
+
+    // Expired tokens and those of revoked users are rejected alike
+    private Optional<AuthenticatedUser> toUser(String id, String role, String expiresAt, String tokenId) {
+        AuthenticatedUser user;
+        try {
+            user = new AuthenticatedUser(id, role, Long.parseLong(expiresAt), tokenId);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (user.expiresAt() < Instant.now().getEpochSecond() || revokedUsers.containsKey(user.id())) {
+            return Optional.empty();
+        }
+        return Optional.of(user);
+    }
+
+    private byte[] signature(String encodedPayload) {
+        return mac.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    }
+}
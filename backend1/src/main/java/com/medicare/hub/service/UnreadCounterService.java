@@ -0,0 +1,113 @@
+package com.medicare.hub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.medicare.hub.repository.PatientNotificationRepository;
+import com.medicare.hub.repository.PatientNotificationRepository.PatientUnreadCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Unread notification counts per patient, kept in memory and updated by every path
+ * that creates, reads or deletes a notification.
+ * A patient's counter is loaded from the database on first use; counters that aren't
+ * loaded are left alone on writes because the first load will see the committed row.
+ * Counters are bounded: one nobody has read or written for a while is dropped and reloaded
+ * on the next read, so only patients active recently are held and reconciled.
+ */
+@Slf4j
+@Service
+public class UnreadCounterService {
+
+    private static final int RECONCILE_CHUNK = 500;
+
+    private final PatientNotificationRepository notificationRepository;
+    private final Cache<String, LongAdder> counters;
+
+    public UnreadCounterService(
+            PatientNotificationRepository notificationRepository,
+            @Value("${app.notifications.counter-cache-size:100000}") long cacheSize,
+            @Value("${app.notifications.counter-idle-minutes:30}") long idleMinutes) {
+        this.notificationRepository = notificationRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+    }
+
+    public long get(String patientId) {
+        return counters.get(patientId, this::load).sum();
+    }
+
+    public void increment(String patientId) {
+        LongAdder counter = counters.getIfPresent(patientId);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    public void decrement(String patientId, long by) {
+        LongAdder counter = counters.getIfPresent(patientId);
+        if (counter != null && by > 0) {
+            counter.add(-by);
+        }
+    }
+
+    // Drop a counter so the next read reloads it
+    public void invalidate(String patientId) {
+        counters.invalidate(patientId);
+    }
+
+    public void invalidateAll() {
+        counters.invalidateAll();
+    }
+
+    /**
+     * Correct drift from writes that raced a lazy load, or rows removed behind our back.
+     * Loaded counters are refreshed with one grouped COUNT per chunk of patients. Reconciling
+     * doesn't count as use, so it never keeps an idle counter alive.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.reconcile-ms:300000}")
+    public void reconcile() {
+        List<String> patientIds = new ArrayList<>(counters.asMap().keySet());
+        int corrected = 0;
+
+        for (int from = 0; from < patientIds.size(); from += RECONCILE_CHUNK) {
+            List<String> chunk = patientIds.subList(from, Math.min(from + RECONCILE_CHUNK, patientIds.size()));
+
+            Map<String, Long> actual = new HashMap<>();
+            for (PatientUnreadCount row : notificationRepository.countUnreadByPatientIds(chunk)) {
+                actual.put(row.getPatientId(), row.getUnread());
+            }
+
+            for (String patientId : chunk) {
+                long expected = actual.getOrDefault(patientId, 0L);
+                LongAdder counter = counters.policy().getIfPresentQuietly(patientId);
+                long drift = counter != null ? expected - counter.sum() : 0;
+                if (drift != 0) {
+                    counter.add(drift);
+                    corrected++;
+                }
+            }
+        }
+
+        if (corrected > 0) {
+            log.info("Reconciled {} unread notification counters", corrected);
+        }
+    }
+
+    private LongAdder load(String patientId) {
+        LongAdder counter = new LongAdder();
+        counter.add(notificationRepository.countByPatientIdAndIsRead(patientId, false));
+        return counter;
+    }
+}
@@ -0,0 +1,101 @@
+package com.medicare.hub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.medicare.hub.dto.UserSummary;
+import com.medicare.hub.model.User;
+import com.medicare.hub.model.UuidStringType;
+import com.medicare.hub.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-mostly cache of users by id, shared by every controller that only needs a
+ * user's name/role/email. Writers (register, profile update, delete) must call
+ * {@link #put(User)} or {@link #invalidate(String)}.
+ */
+@Service
+public class UserDirectory {
+
+    // Immutable snapshot of the fields controllers read on hot paths
+    public record CachedUser(String id, String name, String email, String role, String hospitalName, Integer age) {
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getName(), user.getEmail(), user.getRole(),
+                    user.getHospitalName(), user.getAge());
+        }
+
+        public boolean hasRole(String expected) {
+            return expected.equals(role);
+        }
+
+        public UserSummary toSummary() {
+            return new UserSummary(id, name, role, hospitalName);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final Cache<String, CachedUser> cache;
+
+    public UserDirectory(
+            UserRepository userRepository,
+            @Value("${app.user-directory.cache-size:50000}") long cacheSize,
+            @Value("${app.user-directory.ttl-minutes:30}") long ttlMinutes) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<CachedUser> get(String id) {
+        if (!UuidStringType.isValid(id)) {
+            return Optional.empty();
+        }
+        // A loader returning null caches nothing, so a user created later is picked up immediately
+        return Optional.ofNullable(cache.get(id, key -> userRepository.findById(key)
+                .filter(user -> !user.isDeleted())
+                .map(CachedUser::of)
+                .orElse(null)));
+    }
+
+    // One query for all misses; ids with no user are simply absent from the result
+    public Map<String, CachedUser> getAll(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return cache.getAll(ids, missing -> {
+            Map<String, CachedUser> loaded = new HashMap<>();
+            for (User user : userRepository.findAllById(List.copyOf(missing))) {
+                if (!user.isDeleted()) {
+                    loaded.put(user.getId(), CachedUser.of(user));
+                }
+            }
+            return loaded;
+        });
+    }
+
+    public void put(User user) {
+        cache.put(user.getId(), CachedUser.of(user));
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,82 @@
+package com.medicare.hub.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medicare.hub.dto.UserSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams the user directory as NDJSON (one UserSummary per line).
+ * Rows come through a server-side cursor (fetch size) and are written as they arrive,
+ * so memory stays flat no matter how many users there are.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExportService {
+
+    private static final int FETCH_SIZE = 500;
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    public void writeNdjson(OutputStream out, String role, String hospital) {
+        StringBuilder sql = new StringBuilder("SELECT id, name, role, hospital_name FROM users WHERE deleted_at IS NULL");
+        List<Object> args = new ArrayList<>();
+        if (role != null) {
+            sql.append(" AND role = ?");
+            args.add(role);
+        }
+        if (hospital != null) {
+            sql.append(" AND hospital_name = ?");
+            args.add(hospital);
+        }
+        sql.append(" ORDER BY name, id");
+
+        // PostgreSQL only honours the fetch size inside a transaction
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+
+        int[] rows = {0};
+        tx.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    var ps = connection.prepareStatement(sql.toString());
+                    ps.setFetchSize(FETCH_SIZE);
+                    for (int i = 0; i < args.size(); i++) {
+                        ps.setObject(i + 1, args.get(i));
+                    }
+                    return ps;
+                },
+                rs -> {
+                    UserSummary summary = new UserSummary(
+                            rs.getString("id"),
+                            rs.getString("name"),
+                            rs.getString("role"),
+                            rs.getString("hospital_name")
+                    );
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(summary));
+                        out.write(NEWLINE);
+                        if (++rows[0] % FETCH_SIZE == 0) {
+                            out.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+
+        log.info("Exported {} users", rows[0]);
+    }
+}
@@ -0,0 +1,176 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.dto.ProvisionResult;
+import com.medicare.hub.dto.ProvisionUserRequest;
+import com.medicare.hub.model.User;
+import com.medicare.hub.model.UuidV7Generator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Bulk onboarding of hospital staff and patients.
+ * Rows are validated up front, then each chunk is hashed on the password pool and written
+ * with one JDBC batch of {@code INSERT ... ON CONFLICT (email) DO NOTHING}. The per-row
+ * update count tells created (1) from already-registered (0), so there is no lookup per email.
+ * A chunk that fails is reported row by row and the remaining chunks still run.
+ * This and the startup seed ({@code app.security.admin.*}) are the only ways to create an Admin;
+ * self-registration is limited to patients and doctors.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserProvisioningService {
+
+    private static final Set<String> ROLES = Set.of("Patient", "Doctor", "Admin");
+    private static final String INSERT_SQL =
+            "INSERT INTO users (id, name, email, password, role, hospital_name, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (email) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordHashingService passwordHashingService;
+    private final UserDirectory userDirectory;
+    private final DoctorDirectory doctorDirectory;
+    private final EntityCacheEvictor entityCacheEvictor;
+    // Inserts run here rather than on the hashing pool, so a slow database doesn't stall logins
+    private final Executor applicationTaskExecutor;
+
+    @Value("${app.provisioning.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.security.admin.email:}")
+    private String adminEmail;
+
+    @Value("${app.security.admin.password:}")
+    private String adminPassword;
+
+    @Value("${app.security.admin.name:Administrator}")
+    private String adminName;
+
+    // First Admin of a fresh install; bulk provisioning itself needs one. A no-op once the email exists.
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedAdmin() {
+        if (isBlank(adminEmail) || isBlank(adminPassword)) {
+            return;
+        }
+        provision(List.of(new ProvisionUserRequest(adminName, adminEmail, adminPassword, "Admin", null)))
+                .thenAccept(results -> {
+                    ProvisionResult result = results.get(0);
+                    if (ProvisionResult.CONFLICT.equals(result.status())) {
+                        log.debug("Admin account {} already exists", adminEmail);
+                    } else {
+                        log.info("👑 Admin account {}: {}", adminEmail, result.status());
+                    }
+                });
+    }
+
+    public CompletableFuture<List<ProvisionResult>> provision(List<ProvisionUserRequest> rows) {
+        ProvisionResult[] results = new ProvisionResult[rows.size()];
+        List<Integer> valid = validate(rows, results);
+
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            chain = chain.thenCompose(done -> provisionChunk(rows, chunk, results));
+        }
+        return chain.thenApply(done -> Arrays.asList(results));
+    }
+
+    // Marks bad rows in results and returns the indexes of the rows worth inserting
+    private List<Integer> validate(List<ProvisionUserRequest> rows, ProvisionResult[] results) {
+        List<Integer> valid = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProvisionUserRequest row = rows.get(i);
+            if (row == null || isBlank(row.getName()) || isBlank(row.getEmail()) || isBlank(row.getPassword())
+                    || isBlank(row.getRole())) {
+                results[i] = ProvisionResult.rejected(i, row == null ? null : row.getEmail(),
+                        ProvisionResult.INVALID, "name, email, password and role are required");
+            } else if (!ROLES.contains(row.getRole())) {
+                results[i] = ProvisionResult.rejected(i, row.getEmail(), ProvisionResult.INVALID,
+                        "Unknown role: " + row.getRole());
+            } else if (!seenEmails.add(row.getEmail().toLowerCase(Locale.ROOT))) {
+                results[i] = ProvisionResult.rejected(i, row.getEmail(), ProvisionResult.CONFLICT,
+                        "Email appears earlier in this request");
+            } else {
+                valid.add(i);
+            }
+        }
+        return valid;
+    }
+
+    private CompletableFuture<Void> provisionChunk(List<ProvisionUserRequest> rows, List<Integer> chunk,
+                                                   ProvisionResult[] results) {
+        List<String> passwords = chunk.stream().map(i -> rows.get(i).getPassword()).toList();
+
+        return passwordHashingService.hashAll(passwords)
+                .thenAcceptAsync(hashes -> insertChunk(rows, chunk, hashes, results), applicationTaskExecutor)
+                .exceptionally(e -> {
+                    log.error("❌ Provisioning chunk of {} rows failed:", chunk.size(), e);
+                    for (int i : chunk) {
+                        results[i] = ProvisionResult.rejected(i, rows.get(i).getEmail(), ProvisionResult.FAILED,
+                                "Could not be provisioned, please retry");
+                    }
+                    return null;
+                });
+    }
+
+    private void insertChunk(List<ProvisionUserRequest> rows, List<Integer> chunk, List<String> hashes,
+                             ProvisionResult[] results) {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>(chunk.size());
+        List<Object[]> batchArgs = new ArrayList<>(chunk.size());
+        for (int j = 0; j < chunk.size(); j++) {
+            ProvisionUserRequest row = rows.get(chunk.get(j));
+            User user = new User();
+            UUID id = UuidV7Generator.nextUuid();
+            user.setId(id.toString());
+            user.setName(row.getName());
+            user.setEmail(row.getEmail());
+            user.setPassword(hashes.get(j));
+            user.setRole(row.getRole());
+            user.setHospitalName(row.getHospitalName());
+            user.setCreatedAt(now);
+            users.add(user);
+            batchArgs.add(new Object[]{id, user.getName(), user.getEmail(), user.getPassword(),
+                    user.getRole(), user.getHospitalName(), Timestamp.valueOf(now)});
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+        entityCacheEvictor.usersInserted();
+
+        for (int j = 0; j < chunk.size(); j++) {
+            int row = chunk.get(j);
+            User user = users.get(j);
+            if (counts[j] == 0) {
+                results[row] = ProvisionResult.rejected(row, user.getEmail(), ProvisionResult.CONFLICT,
+                        "User with this email already exists");
+            } else {
+                results[row] = ProvisionResult.created(row, user.getEmail(), user.getId());
+                userDirectory.put(user);
+                doctorDirectory.upsert(user);
+            }
+        }
+        log.info("👥 Provisioned chunk of {} rows", chunk.size());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,231 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.model.UserPurgeJob;
+import com.medicare.hub.repository.UserPurgeJobRepository;
+import com.medicare.hub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Deletes a user's data in the background after the account is tombstoned.
+ * The job walks a fixed list of steps and records the name of the last one it finished, so after
+ * a crash it resumes with the step after it. Every step is idempotent, so repeating one is
+ * harmless: a job whose last step has since been removed or renamed simply starts over.
+ * Deletes run outside any surrounding transaction, batchSize rows per statement, so no lock
+ * on a hot table is held for longer than one small batch.
+ * <p>
+ * Each instance polls for pending jobs, and a job runs on one instance at a time: it is claimed
+ * with FOR UPDATE SKIP LOCKED for app.purge.claim-minutes, renewed after every step. A job whose
+ * instance died is taken over once its claim lapses.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserPurgeService {
+
+    public static final String PENDING = "pending";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    // chunked steps are repeated until they touch fewer than batchSize rows;
+    // the name is stored in unfinished jobs, so it must be unique
+    private record PurgeStep(String name, String sql, boolean chunked) {
+    }
+
+    private static final List<PurgeStep> STEPS = List.of(
+            // Queue attachments before the rows that point at them disappear
+            new PurgeStep("queue files",
+                    "INSERT INTO pending_file_deletions (id, url, attempts, created_at) " +
+                    "SELECT gen_random_uuid(), url, 0, now() FROM (" +
+                    "SELECT softcopy_path AS url FROM medical_records WHERE patient_id = :userId " +
+                    "UNION SELECT prescription_path FROM medical_records WHERE patient_id = :userId " +
+                    "UNION SELECT prescription_image FROM prescriptions WHERE patient_id = :userId " +
+                    "UNION SELECT report_path FROM lab_results WHERE patient_id = :userId" +
+                    ") files WHERE url IS NOT NULL AND url <> '' ON CONFLICT (url) DO NOTHING",
+                    false),
+            chunkedDelete("patient_health_data", "patient_id"),
+            chunkedDelete("medical_records", "patient_id"),
+            chunkedDelete("prescriptions", "patient_id"),
+            chunkedDelete("lab_results", "patient_id"),
+            chunkedDelete("appointments", "patient_id"),
+            chunkedDelete("appointments", "doctor_id"),
+            chunkedDelete("patient_notifications", "patient_id"),
+            chunkedDelete("passkey_access_requests", "patient_id"),
+            chunkedDelete("passkey_access_requests", "doctor_id"),
+            chunkedDelete("access_grants", "patient_id"),
+            chunkedDelete("access_grants", "doctor_id"),
+            chunkedDelete("doctor_tasks", "doctor_id"),
+            // New steps go right before users: a job in flight just runs them next
+            vitalsDelete("vital_readings", "recorded_at"),
+            vitalsDelete("vital_readings_hourly", "bucket_start"),
+            vitalsDelete("vital_readings_daily", "bucket_start"),
+            new PurgeStep("users", "DELETE FROM users WHERE id = :userId AND deleted_at IS NOT NULL", false)
+    );
+
+    // The oldest pending job nobody holds, claimed in one statement
+    private static final String CLAIM_SQL = """
+            UPDATE user_purge_jobs SET claimed_until = :claimedUntil
+            WHERE id = (
+                SELECT id FROM user_purge_jobs
+                WHERE status = :pending AND (claimed_until IS NULL OR claimed_until < :now)
+                ORDER BY created_at LIMIT 1
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id""";
+
+    private static final int JOBS_PER_POLL = 20;
+
+    private final UserRepository userRepository;
+    private final UserPurgeJobRepository jobRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserDirectory userDirectory;
+    private final DoctorDirectory doctorDirectory;
+    private final TokenService tokenService;
+    private final UnreadCounterService unreadCounterService;
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    @Value("${app.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.purge.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.purge.claim-minutes:15}")
+    private long claimMinutes;
+
+    // A failed attempt keeps its claim this long, so the retry comes on a later poll
+    @Value("${app.purge.poll-ms:5000}")
+    private long pollMs;
+
+    /**
+     * Tombstone the user and enqueue the purge in one transaction.
+     * Returns false if there is no live user with this id.
+     */
+    @Transactional
+    public boolean requestPurge(String userId) {
+        if (userRepository.tombstone(userId, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        UserPurgeJob job = new UserPurgeJob();
+        job.setUserId(userId);
+        job.setStatus(PENDING);
+        jobRepository.save(job);
+
+        // The account is gone for every reader from here on
+        tokenService.revokeAll(userId);
+        userDirectory.invalidate(userId);
+        doctorDirectory.remove(userId);
+        unreadCounterService.invalidate(userId);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.purge.poll-ms:5000}")
+    public void runPending() {
+        for (int i = 0; i < JOBS_PER_POLL; i++) {
+            Optional<UserPurgeJob> job = claimNext();
+            if (job.isEmpty()) {
+                return;
+            }
+            run(job.get());
+        }
+    }
+
+    private Optional<UserPurgeJob> claimNext() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> claimed = jdbcTemplate.queryForList(CLAIM_SQL, new MapSqlParameterSource()
+                .addValue("claimedUntil", now.plusMinutes(claimMinutes))
+                .addValue("pending", PENDING)
+                .addValue("now", now), String.class);
+        return claimed.stream().findFirst().flatMap(jobRepository::findById);
+    }
+
+    private void run(UserPurgeJob job) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", UUID.fromString(job.getUserId()))
+                .addValue("batchSize", batchSize);
+        try {
+            for (int i = resumeAt(job.getLastStep()); i < STEPS.size(); i++) {
+                PurgeStep step = STEPS.get(i);
+                long affected = step.chunked() ? drain(step.sql(), params) : jdbcTemplate.update(step.sql(), params);
+
+                job.setRowsDeleted(job.getRowsDeleted() + affected);
+                job.setLastStep(step.name());
+                job.setClaimedUntil(LocalDateTime.now().plusMinutes(claimMinutes));
+                jobRepository.save(job);
+                log.debug("Purge {} step '{}': {} rows", job.getUserId(), step.name(), affected);
+            }
+            job.setStatus(DONE);
+            job.setCompletedAt(LocalDateTime.now());
+            job.setClaimedUntil(null);
+            jobRepository.save(job);
+            log.info("🗑 User {} purged ({} rows)", job.getUserId(), job.getRowsDeleted());
+        } catch (Exception e) {
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLastError(abbreviate(e.getMessage()));
+            if (job.getAttempts() >= maxAttempts) {
+                job.setStatus(FAILED);
+            }
+            job.setClaimedUntil(LocalDateTime.now().plus(Duration.ofMillis(pollMs)));
+            jobRepository.save(job);
+            log.error("❌ Purge of user {} failed after step '{}' (attempt {}):",
+                    job.getUserId(), job.getLastStep(), job.getAttempts(), e);
+        } finally {
+            // The steps delete through JDBC, which the second-level cache never hears about
+            entityCacheEvictor.userPurged(job.getUserId());
+        }
+    }
+
+    // Index of the step after the named one; a step no longer in the list means start over
+    private static int resumeAt(String lastStep) {
+        for (int i = 0; i < STEPS.size(); i++) {
+            if (STEPS.get(i).name().equals(lastStep)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    // Each statement commits on its own, so locks are released between batches
+    private long drain(String sql, MapSqlParameterSource params) {
+        long total = 0;
+        int affected;
+        do {
+            affected = jdbcTemplate.update(sql, params);
+            total += affected;
+        } while (affected == batchSize);
+        return total;
+    }
+
+    private static PurgeStep chunkedDelete(String table, String userColumn) {
+        return new PurgeStep(table + "." + userColumn,
+                "DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table +
+                " WHERE " + userColumn + " = :userId LIMIT :batchSize)",
+                true);
+    }
+
+    // The vitals tables have no id; chunks are picked by primary key instead
+    private static PurgeStep vitalsDelete(String table, String timeColumn) {
+        return new PurgeStep(table,
+                "DELETE FROM " + table + " WHERE patient_id = :userId AND (metric, " + timeColumn + ") IN (" +
+                "SELECT metric, " + timeColumn + " FROM " + table + " WHERE patient_id = :userId LIMIT :batchSize)",
+                true);
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
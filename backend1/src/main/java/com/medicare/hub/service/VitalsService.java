@@ -0,0 +1,252 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.dto.LatestVital;
+import com.medicare.hub.dto.VitalReadingRequest;
+import com.medicare.hub.dto.VitalSeries;
+import com.medicare.hub.model.VitalMetric;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-patient vitals time series (db/vitals.sql), kept out of JPA on purpose: rows are tiny,
+ * arrive in batches from home monitors and are read back as whole ranges.
+ * <p>
+ * A batch is one statement: the readings go in through unnest() over array parameters, and the
+ * rows actually inserted (a re-sent reading is skipped by the primary key) are folded into the
+ * hourly and daily rollups in the same statement, so the rollups always match the raw rows.
+ * Range queries read the raw rows or a rollup, whichever the caller asks for, and come back as
+ * primitive arrays; a year of daily points is 365 rows from the primary key, however many
+ * readings the year holds. A range over the point limit keeps its newest points, which is
+ * what a chart of recent vitals needs.
+ */
+@Service
+@RequiredArgsConstructor
+public class VitalsService {
+
+    public enum Resolution {
+        RAW("vital_readings", "recorded_at"),
+        HOUR("vital_readings_hourly", "bucket_start"),
+        DAY("vital_readings_daily", "bucket_start");
+
+        final String table;
+        final String timeColumn;
+
+        Resolution(String table, String timeColumn) {
+            this.table = table;
+            this.timeColumn = timeColumn;
+        }
+
+        // Raw for a couple of days, hourly up to half a year, daily beyond
+        public static Resolution forRange(LocalDateTime from, LocalDateTime to) {
+            Duration span = Duration.between(from, to);
+            if (span.compareTo(Duration.ofDays(2)) <= 0) {
+                return RAW;
+            }
+            return span.compareTo(Duration.ofDays(180)) <= 0 ? HOUR : DAY;
+        }
+    }
+
+    private static final String INGEST_SQL = """
+            WITH inserted AS (
+                INSERT INTO vital_readings (patient_id, recorded_at, value, metric)
+                SELECT ?, recorded_at, value, metric
+                FROM unnest(?::smallint[], ?::timestamp[], ?::float8[]) AS input (metric, recorded_at, value)
+                ON CONFLICT DO NOTHING
+                RETURNING patient_id, metric, recorded_at, value
+            ), hourly AS (
+                %s
+            ), daily AS (
+                %s
+            )
+            SELECT count(*) FROM inserted"""
+            .formatted(rollupSql("vital_readings_hourly", "hour"), rollupSql("vital_readings_daily", "day"));
+
+    private static final String LATEST_SQL = """
+            SELECT m.code, r.recorded_at, r.value
+            FROM unnest(?::smallint[]) AS m (code)
+            CROSS JOIN LATERAL (
+                SELECT recorded_at, value FROM vital_readings
+                WHERE patient_id = ? AND metric = m.code
+                ORDER BY recorded_at DESC LIMIT 1
+            ) r""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.vitals.max-points:10000}")
+    private int maxPoints;
+
+    /** Stores validated readings; returns how many were new. */
+    @Transactional
+    public int ingest(String patientId, List<VitalReadingRequest> readings) {
+        // createArrayOf takes object arrays; the driver sends them as one text parameter each
+        Short[] metrics = new Short[readings.size()];
+        Timestamp[] times = new Timestamp[readings.size()];
+        Double[] values = new Double[readings.size()];
+        for (int i = 0; i < readings.size(); i++) {
+            VitalReadingRequest reading = readings.get(i);
+            metrics[i] = VitalMetric.byKey(reading.getMetric()).orElseThrow().getCode();
+            times[i] = Timestamp.valueOf(reading.getRecordedAt());
+            values[i] = reading.getValue();
+        }
+
+        Integer stored = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INGEST_SQL);
+            ps.setObject(1, UUID.fromString(patientId));
+            ps.setArray(2, connection.createArrayOf("int2", metrics));
+            ps.setArray(3, connection.createArrayOf("timestamp", times));
+            ps.setArray(4, connection.createArrayOf("float8", values));
+            return ps;
+        }, rs -> rs.next() ? rs.getInt(1) : 0);
+        return stored != null ? stored : 0;
+    }
+
+    /**
+     * Readings in [from, to) at the given resolution, oldest first. At most app.vitals.max-points
+     * of them: the newest, when the range holds more.
+     */
+    @Transactional(readOnly = true)
+    public VitalSeries series(String patientId, VitalMetric metric, LocalDateTime from, LocalDateTime to,
+                              Resolution resolution) {
+        boolean raw = resolution == Resolution.RAW;
+        String columns = raw ? "recorded_at, value" : "bucket_start, total / samples, min_value, max_value, samples";
+        String sql = "SELECT " + columns + " FROM " + resolution.table +
+                " WHERE patient_id = ? AND metric = ? AND " + resolution.timeColumn + " >= ? AND " +
+                resolution.timeColumn + " < ? ORDER BY " + resolution.timeColumn + " DESC LIMIT ?";
+
+        SeriesBuilder builder = new SeriesBuilder(!raw);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setObject(1, UUID.fromString(patientId));
+            ps.setShort(2, metric.getCode());
+            ps.setTimestamp(3, Timestamp.valueOf(bucketStart(from, resolution)));
+            ps.setTimestamp(4, Timestamp.valueOf(to));
+            // One extra row tells a full range from a truncated one
+            ps.setInt(5, maxPoints + 1);
+            return ps;
+        }, builder::add);
+        return builder.build(metric, resolution, maxPoints);
+    }
+
+    /** The most recent reading of every metric the patient has, keyed by metric key. */
+    @Transactional(readOnly = true)
+    public Map<String, LatestVital> latest(String patientId) {
+        Short[] codes = new Short[VitalMetric.values().length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = VitalMetric.values()[i].getCode();
+        }
+
+        Map<String, LatestVital> latest = new LinkedHashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LATEST_SQL);
+            ps.setArray(1, connection.createArrayOf("int2", codes));
+            ps.setObject(2, UUID.fromString(patientId));
+            return ps;
+        }, rs -> {
+            VitalMetric metric = VitalMetric.byCode(rs.getShort(1));
+            latest.put(metric.getKey(), new LatestVital(rs.getDouble(3), metric.getUnit(),
+                    rs.getTimestamp(2).toLocalDateTime()));
+        });
+        return latest;
+    }
+
+    // The bucket containing from, so a range starting mid-hour still gets that hour
+    private static LocalDateTime bucketStart(LocalDateTime from, Resolution resolution) {
+        return switch (resolution) {
+            case RAW -> from;
+            case HOUR -> from.withMinute(0).withSecond(0).withNano(0);
+            case DAY -> from.toLocalDate().atStartOfDay();
+        };
+    }
+
+    private static String rollupSql(String table, String unit) {
+        return """
+                INSERT INTO %1$s AS r (patient_id, bucket_start, total, min_value, max_value, samples, metric)
+                    SELECT patient_id, date_trunc('%2$s', recorded_at), sum(value), min(value), max(value), count(*), metric
+                    FROM inserted
+                    GROUP BY patient_id, metric, date_trunc('%2$s', recorded_at)
+                    ON CONFLICT (patient_id, metric, bucket_start) DO UPDATE SET
+                        total = r.total + excluded.total,
+                        min_value = LEAST(r.min_value, excluded.min_value),
+                        max_value = GREATEST(r.max_value, excluded.max_value),
+                        samples = r.samples + excluded.samples""".formatted(table, unit);
+    }
+
+    // Collects rows, newest first, straight into primitive arrays, grown as needed
+    private static final class SeriesBuilder {
+        private final boolean rollup;
+        private long[] time = new long[256];
+        private double[] values = new double[256];
+        private double[] min;
+        private double[] max;
+        private int[] samples;
+        private int size;
+
+        SeriesBuilder(boolean rollup) {
+            this.rollup = rollup;
+            if (rollup) {
+                min = new double[256];
+                max = new double[256];
+                samples = new int[256];
+            }
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            if (size == time.length) {
+                int capacity = size * 2;
+                time = Arrays.copyOf(time, capacity);
+                values = Arrays.copyOf(values, capacity);
+                if (rollup) {
+                    min = Arrays.copyOf(min, capacity);
+                    max = Arrays.copyOf(max, capacity);
+                    samples = Arrays.copyOf(samples, capacity);
+                }
+            }
+            time[size] = rs.getTimestamp(1).getTime();
+            values[size] = rs.getDouble(2);
+            if (rollup) {
+                min[size] = rs.getDouble(3);
+                max[size] = rs.getDouble(4);
+                samples[size] = rs.getInt(5);
+            }
+            size++;
+        }
+
+        // Drops the extra row, which is the oldest, and puts the rest in chart order
+        VitalSeries build(VitalMetric metric, Resolution resolution, int limit) {
+            boolean truncated = size > limit;
+            int n = Math.min(size, limit);
+            long[] outTime = new long[n];
+            double[] outValues = new double[n];
+            double[] outMin = rollup ? new double[n] : null;
+            double[] outMax = rollup ? new double[n] : null;
+            int[] outSamples = rollup ? new int[n] : null;
+            for (int i = 0; i < n; i++) {
+                int from = n - 1 - i;
+                outTime[i] = time[from];
+                outValues[i] = values[from];
+                if (rollup) {
+                    outMin[i] = min[from];
+                    outMax[i] = max[from];
+                    outSamples[i] = samples[from];
+                }
+            }
+            return new VitalSeries(metric.getKey(), metric.getUnit(), resolution.name().toLowerCase(),
+                    outTime, outValues, outMin, outMax, outSamples, truncated);
+        }
+    }
+}
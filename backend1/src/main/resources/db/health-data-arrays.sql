@@ -0,0 +1,28 @@
+-- Moves allergies from the patient_allergies collection table into an array column on
+-- patient_health_data, next to medications, so a patient's health data is a single row.
+-- Applied by SchemaMigrationConfig on every startup before Hibernate touches the schema,
+-- so it must be idempotent. Runs as a single statement.
+DO $$
+BEGIN
+    IF to_regclass('patient_health_data') IS NULL THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE patient_health_data ADD COLUMN IF NOT EXISTS allergies varchar(255)[];
+
+    IF to_regclass('patient_allergies') IS NOT NULL THEN
+        UPDATE patient_health_data h SET allergies = a.allergies
+        FROM (SELECT patient_id, array_agg(allergies) AS allergies
+              FROM patient_allergies GROUP BY patient_id) a
+        WHERE a.patient_id = h.id;
+        DROP TABLE patient_allergies;
+
+        -- The purge no longer has a patient_allergies step (it was step 1); unfinished jobs
+        -- past it still resume by index until db/purge-job-steps.sql runs, so shift them back by one
+        IF to_regclass('user_purge_jobs') IS NOT NULL THEN
+            UPDATE user_purge_jobs SET completed_steps = completed_steps - 1
+            WHERE status = 'pending' AND completed_steps >= 2;
+        END IF;
+    END IF;
+END
+$$;
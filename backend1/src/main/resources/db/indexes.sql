@@ -0,0 +1,18 @@
+-- Indexes Hibernate can't express through @Table(indexes = ...).
+-- Applied by SchemaIndexInitializer on every startup after Hibernate has updated the tables,
+-- so every statement here must be idempotent.
+
+-- Current medications per patient only ever touch live rows
+CREATE INDEX IF NOT EXISTS idx_prescriptions_active_patient
+    ON prescriptions (patient_id, created_at DESC) WHERE status = 'Active';
+
+-- Expiry sweeper scans active rows by end date
+CREATE INDEX IF NOT EXISTS idx_prescriptions_active_end_date
+    ON prescriptions (end_date) WHERE status = 'Active';
+
+-- Passkey verification and the expiry sweeper only look at pending requests
+CREATE INDEX IF NOT EXISTS idx_passkey_requests_pending
+    ON passkey_access_requests (patient_id, passkey) WHERE status = 'pending';
+
+CREATE INDEX IF NOT EXISTS idx_passkey_requests_pending_expiry
+    ON passkey_access_requests (expires_at) WHERE status = 'pending';
@@ -0,0 +1,40 @@
+-- Purge jobs used to record how many steps they had finished; they now record the name of the
+-- last one, so steps can be removed or reordered without renumbering unfinished jobs.
+-- Applied by SchemaMigrationConfig on every startup before Hibernate touches the schema,
+-- so it must be idempotent: once completed_steps is gone there is nothing to do.
+-- Runs as a single statement.
+DO $$
+BEGIN
+    IF to_regclass('user_purge_jobs') IS NULL
+       OR NOT EXISTS (SELECT 1 FROM information_schema.columns
+                      WHERE table_schema = current_schema() AND table_name = 'user_purge_jobs'
+                        AND column_name = 'completed_steps') THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE user_purge_jobs ADD COLUMN IF NOT EXISTS last_step varchar(255);
+
+    -- UserPurgeService's steps as they were numbered when this ran; only unfinished jobs resume
+    UPDATE user_purge_jobs j SET last_step = s.name
+    FROM (VALUES (1, 'queue files'),
+                 (2, 'patient_health_data.patient_id'),
+                 (3, 'medical_records.patient_id'),
+                 (4, 'prescriptions.patient_id'),
+                 (5, 'lab_results.patient_id'),
+                 (6, 'appointments.patient_id'),
+                 (7, 'appointments.doctor_id'),
+                 (8, 'patient_notifications.patient_id'),
+                 (9, 'passkey_access_requests.patient_id'),
+                 (10, 'passkey_access_requests.doctor_id'),
+                 (11, 'access_grants.patient_id'),
+                 (12, 'access_grants.doctor_id'),
+                 (13, 'doctor_tasks.doctor_id'),
+                 (14, 'vital_readings'),
+                 (15, 'vital_readings_hourly'),
+                 (16, 'vital_readings_daily'),
+                 (17, 'users')) AS s (completed_steps, name)
+    WHERE j.completed_steps = s.completed_steps AND j.status = 'pending';
+
+    ALTER TABLE user_purge_jobs DROP COLUMN completed_steps;
+END
+$$;
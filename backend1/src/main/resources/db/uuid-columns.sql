@@ -0,0 +1,50 @@
+-- Converts id columns created as varchar (before ids became UUIDv7) to native uuid.
+-- Applied by SchemaMigrationConfig on every startup before Hibernate touches the schema,
+-- so it must be idempotent: columns that are already uuid, and tables that don't exist yet, are skipped.
+-- Runs as a single statement.
+DO $$
+DECLARE
+    target RECORD;
+    fk RECORD;
+BEGIN
+    -- Both sides of a foreign key can't change type while it exists; ddl-auto puts it back
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'patient_health_data'
+                 AND column_name = 'id' AND data_type = 'character varying') THEN
+        FOR fk IN
+            SELECT conrelid::regclass AS tbl, conname
+            FROM pg_constraint
+            WHERE contype = 'f' AND confrelid = 'patient_health_data'::regclass
+        LOOP
+            EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.tbl, fk.conname);
+        END LOOP;
+    END IF;
+
+    FOR target IN
+        SELECT c.table_name, c.column_name
+        FROM information_schema.columns c
+        JOIN (VALUES
+            ('users', 'id'),
+            ('appointments', 'id'), ('appointments', 'patient_id'), ('appointments', 'doctor_id'),
+            ('doctor_tasks', 'id'), ('doctor_tasks', 'doctor_id'),
+            ('lab_results', 'id'), ('lab_results', 'patient_id'),
+            ('medical_records', 'id'), ('medical_records', 'patient_id'),
+            ('prescriptions', 'id'), ('prescriptions', 'patient_id'),
+            ('patient_notifications', 'id'), ('patient_notifications', 'patient_id'),
+            ('passkey_access_requests', 'id'), ('passkey_access_requests', 'doctor_id'),
+            ('passkey_access_requests', 'patient_id'),
+            ('access_grants', 'id'), ('access_grants', 'doctor_id'), ('access_grants', 'patient_id'),
+            ('patient_health_data', 'id'), ('patient_health_data', 'patient_id'),
+            ('patient_allergies', 'patient_id'),
+            ('pending_file_deletions', 'id'),
+            ('user_purge_jobs', 'id'), ('user_purge_jobs', 'user_id')
+        ) AS wanted (table_name, column_name)
+            ON wanted.table_name = c.table_name AND wanted.column_name = c.column_name
+        WHERE c.table_schema = current_schema() AND c.data_type = 'character varying'
+    LOOP
+        RAISE NOTICE 'Converting %.% to uuid', target.table_name, target.column_name;
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I TYPE uuid USING %I::uuid',
+                target.table_name, target.column_name, target.column_name);
+    END LOOP;
+END
+$$;
@@ -0,0 +1,36 @@
+-- Vitals time series. Written and read through JDBC only (VitalsService), so ddl-auto
+-- doesn't know about these tables. Applied by SchemaMigrationConfig on every startup.
+--
+-- Raw readings are append-only, one narrow row per reading. The primary key doubles as the
+-- range-query index and makes re-sent readings no-ops.
+-- Columns are ordered widest first so rows pack without alignment padding.
+CREATE TABLE IF NOT EXISTS vital_readings (
+    patient_id  uuid             NOT NULL,
+    recorded_at timestamp        NOT NULL,
+    value       double precision NOT NULL,
+    metric      smallint         NOT NULL,
+    PRIMARY KEY (patient_id, metric, recorded_at)
+);
+
+-- Rollups, updated in the same statement that inserts the readings. The average is total / samples.
+CREATE TABLE IF NOT EXISTS vital_readings_hourly (
+    patient_id   uuid             NOT NULL,
+    bucket_start timestamp        NOT NULL,
+    total        double precision NOT NULL,
+    min_value    double precision NOT NULL,
+    max_value    double precision NOT NULL,
+    samples      integer          NOT NULL,
+    metric       smallint         NOT NULL,
+    PRIMARY KEY (patient_id, metric, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS vital_readings_daily (
+    patient_id   uuid             NOT NULL,
+    bucket_start timestamp        NOT NULL,
+    total        double precision NOT NULL,
+    min_value    double precision NOT NULL,
+    max_value    double precision NOT NULL,
+    samples      integer          NOT NULL,
+    metric       smallint         NOT NULL,
+    PRIMARY KEY (patient_id, metric, bucket_start)
+);
@@ -1,13 +1,30 @@
 package com.medicare.hub;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 class BackendApplicationTests {
 
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
 	@Test
 	void contextLoads() {
 	}
 
+	// Tests get the same JPA configuration as main(), JDBC batching included
+	@Test
+	void jdbcBatchingIsConfigured() {
+		assertThat(entityManagerFactory.getProperties())
+				.containsEntry(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+				.containsEntry(AvailableSettings.ORDER_INSERTS, true)
+				.containsEntry(AvailableSettings.ORDER_UPDATES, true);
+	}
+
 }
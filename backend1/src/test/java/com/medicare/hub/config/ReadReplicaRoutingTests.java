@@ -0,0 +1,198 @@
+package com.medicare.hub.config;
+
+import com.medicare.hub.model.Appointment;
+import com.medicare.hub.repository.AppointmentRepository;
+import com.medicare.hub.repository.UserRepository;
+import com.medicare.hub.service.TokenService.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Which database each kind of work reaches once replicas are configured. Needs a second Postgres
+ * besides the one the other tests use; the loadtest module's embedded one will do:
+ * {@code java -cp loadtest/target/loadtest.jar com.medicare.hub.loadtest.EmbeddedDatabase --port=5434}
+ * (or point -Dapp.test.replica-url elsewhere). Skipped when nothing listens there.
+ * <p>
+ * The second instance is not a real replica, which is what makes routing visible: rows written
+ * only to it are seen only by work that was routed to it. Its schema is the one Hibernate
+ * generates for the primary, written to a script at startup.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica-urls=${app.test.replica-url:jdbc:postgresql://localhost:5434/postgres}",
+        // Only the startup check; a connection taken by a later one would skew nothing, but keep it quiet
+        "app.datasource.replica-check-ms=3600000",
+        "spring.jpa.properties.jakarta.persistence.schema-generation.scripts.action=create",
+        "spring.jpa.properties.jakarta.persistence.schema-generation.scripts.create-target="
+                + ReadReplicaRoutingTests.SCHEMA_SCRIPT,
+        "spring.jpa.properties.hibernate.hbm2ddl.schema-generation.script.append=false"
+})
+class ReadReplicaRoutingTests {
+
+    static final String SCHEMA_SCRIPT = "target/replica-routing-schema.sql";
+    private static final String DEFAULT_REPLICA_URL = "jdbc:postgresql://localhost:5434/postgres";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${spring.datasource.url}")
+    private String primaryUrl;
+    @Value("${app.datasource.replica-urls}")
+    private String replicaUrl;
+    @Value("${spring.datasource.username:}")
+    private String username;
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    private JdbcTemplate replica;
+    private String doctorId;
+    private String userId;
+
+    @BeforeAll
+    static void requireSecondInstance() {
+        URI uri = URI.create(System.getProperty("app.test.replica-url", DEFAULT_REPLICA_URL).substring("jdbc:".length()));
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort()), 500);
+        } catch (IOException e) {
+            assumeTrue(false, "No second Postgres at " + uri + "; start the loadtest EmbeddedDatabase there");
+        }
+    }
+
+    @BeforeEach
+    void seedReplicaOnly() throws Exception {
+        Driver driver = DriverManager.getDriver(replicaUrl);
+        replica = new JdbcTemplate(new SimpleDriverDataSource(driver, replicaUrl, username, password));
+
+        // CREATE TABLE fails on every run after the first; the tables are what matters
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new FileSystemResource(SCHEMA_SCRIPT));
+        schema.setContinueOnError(true);
+        schema.execute(replica.getDataSource());
+
+        doctorId = UUID.randomUUID().toString();
+        userId = UUID.randomUUID().toString();
+        replica.update("INSERT INTO appointments (id, patient_id, doctor_id, appointment_date, appointment_time, " +
+                        "status, type, reason, created_at, updated_at) " +
+                        "VALUES (CAST(? AS uuid), CAST(? AS uuid), CAST(? AS uuid), ?, ?, 'pending', 'Checkup', " +
+                        "'replica only', now(), now())",
+                UUID.randomUUID().toString(), UUID.randomUUID().toString(), doctorId,
+                LocalDate.now(), LocalTime.NOON);
+        replica.update("INSERT INTO users (id, name, email, password, role, created_at) " +
+                        "VALUES (CAST(? AS uuid), 'Replica Only', ?, 'x', 'Patient', now())",
+                userId, userId + "@replica.test");
+    }
+
+    @AfterEach
+    void cleanUpReplica() {
+        replica.update("DELETE FROM appointments WHERE doctor_id = CAST(? AS uuid)", doctorId);
+        replica.update("DELETE FROM users WHERE id = CAST(? AS uuid)", userId);
+    }
+
+    @Test
+    void readOnlyTransactionReachesTheReplica() {
+        assertThat(serverPort(true)).isEqualTo(portOf(replicaUrl));
+    }
+
+    @Test
+    void readWriteTransactionReachesThePrimary() {
+        assertThat(serverPort(false)).isEqualTo(portOf(primaryUrl));
+    }
+
+    @Test
+    void statementOutsideATransactionReachesThePrimary() {
+        assertThat(jdbcTemplate.queryForObject("SELECT inet_server_port()", Integer.class))
+                .isEqualTo(portOf(primaryUrl));
+    }
+
+    @Test
+    void readOnlyRepositoryFinderReachesTheReplica() {
+        assertThat(appointments()).extracting(Appointment::getReason).containsExactly("replica only");
+    }
+
+    @Test
+    void cachedEntityLoadsReachThePrimary() {
+        assertThat(userRepository.findById(userId)).isEmpty();
+        assertThat(userRepository.findByEmail(userId + "@replica.test")).isEmpty();
+    }
+
+    @Test
+    void writeRequestIsPinnedToThePrimary() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ZERO);
+
+        assertThat(duringRequest(filter, "POST", null)).isEmpty();
+        assertThat(duringRequest(filter, "GET", null)).hasSize(1);
+    }
+
+    @Test
+    void recentWriterStaysOnThePrimaryForTheWindow() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+        String writer = UUID.randomUUID().toString();
+
+        duringRequest(filter, "PUT", writer);
+
+        assertThat(duringRequest(filter, "GET", writer)).isEmpty();
+        assertThat(duringRequest(filter, "GET", UUID.randomUUID().toString())).hasSize(1);
+    }
+
+    private List<Appointment> appointments() {
+        return appointmentRepository.findByDoctorIdOrderByAppointmentDateAsc(doctorId);
+    }
+
+    // Runs the read-only finder inside a request passing through the filter
+    private List<Appointment> duringRequest(ReadYourWritesFilter filter, String method, String userId)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/doctor/" + doctorId + "/appointments");
+        if (userId != null) {
+            request.setAttribute(TokenAuthenticationFilter.AUTHENTICATED_USER,
+                    new AuthenticatedUser(userId, "Doctor", Long.MAX_VALUE, UUID.randomUUID().toString()));
+        }
+        AtomicReference<List<Appointment>> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> seen.set(appointments());
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return seen.get();
+    }
+
+    private Integer serverPort(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT inet_server_port()", Integer.class));
+    }
+
+    private static int portOf(String jdbcUrl) {
+        return URI.create(jdbcUrl.substring("jdbc:".length())).getPort();
+    }
+}
@@ -0,0 +1,95 @@
+package com.medicare.hub.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Async requests: statements run on the hashing pool's follow-up stages still count toward the
+ * request, and the request is recorded once, when its response is written.
+ * Not transactional: the statements under test run on other threads and commit, so each test
+ * removes the user it created.
+ */
+@SpringBootTest(properties = "app.sql-count.header=true")
+@AutoConfigureMockMvc
+class SqlStatementCountFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String email = UUID.randomUUID() + "@count.test";
+
+    @AfterEach
+    void removeUser() {
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+    }
+
+    // The insert runs on the task executor, after hashing on the password pool
+    @Test
+    void registerCountsTheInsertMadeOffTheRequestThread() throws Exception {
+        long recordedBefore = summary("POST", "/api/register").count();
+
+        MvcResult started = mockMvc.perform(post("/api/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Count\",\"email\":\"" + email + "\",\"password\":\"s3cret-pass\",\"role\":\"Patient\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        assertThat(result.getResponse().getHeader(SqlStatementCountFilter.HEADER)).isEqualTo("1");
+        DistributionSummary summary = summary("POST", "/api/register");
+        assertThat(summary.count()).isEqualTo(recordedBefore + 1);
+    }
+
+    // A plaintext password is rehashed at login and saved from a stage nested in the hashing pool's
+    @Test
+    void loginCountsTheRehashSave() throws Exception {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, role, created_at) " +
+                "VALUES (CAST(? AS uuid), 'Count', ?, 'plain-pass', 'Patient', now())", UUID.randomUUID().toString(), email);
+
+        MvcResult started = mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"plain-pass\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // The lookup on the request thread, then at least the UPDATE on the task executor
+        assertThat(Integer.parseInt(result.getResponse().getHeader(SqlStatementCountFilter.HEADER)))
+                .isGreaterThanOrEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT password FROM users WHERE email = ?", String.class, email))
+                .startsWith("$2");
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        return DistributionSummary.builder("http.server.requests.sql")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
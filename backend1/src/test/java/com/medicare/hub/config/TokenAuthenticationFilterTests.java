@@ -0,0 +1,150 @@
+package com.medicare.hub.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medicare.hub.model.User;
+import com.medicare.hub.service.TokenService;
+import com.medicare.hub.service.TokenService.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What the token filter lets through: a valid token, on a path the caller owns, and /admin
+ * only for admins. A request that gets through reaches the chain with the caller attached.
+ */
+class TokenAuthenticationFilterTests {
+
+    private final TokenService tokenService = new TokenService("", 12, 30);
+    private final TokenAuthenticationFilter filter =
+            new TokenAuthenticationFilter(tokenService, new ObjectMapper(), true);
+
+    private final User patient = user("Patient");
+    private final User doctor = user("Doctor");
+
+    @Test
+    void missingTokenIsUnauthorized() throws Exception {
+        assertThat(perform("GET", "/api/patient/" + patient.getId() + "/appointments", null).getStatus())
+                .isEqualTo(401);
+    }
+
+    @Test
+    void expiredTokenIsUnauthorized() throws Exception {
+        TokenService expired = new TokenService("", -1, 30);
+        String token = expired.issue(patient);
+
+        assertThat(perform("GET", "/api/patient/" + patient.getId() + "/appointments", token).getStatus())
+                .isEqualTo(401);
+    }
+
+    @Test
+    void ownPathPassesWithCallerAttached() throws Exception {
+        MockHttpServletRequest request = request("GET", "/api/patient/" + patient.getId() + "/appointments",
+                tokenService.issue(patient));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(((AuthenticatedUser) request.getAttribute(TokenAuthenticationFilter.AUTHENTICATED_USER)).id())
+                .isEqualTo(patient.getId());
+    }
+
+    @Test
+    void anotherPatientsPathIsForbidden() throws Exception {
+        String token = tokenService.issue(patient);
+
+        assertThat(perform("GET", "/api/patient/" + UUID.randomUUID() + "/appointments", token).getStatus())
+                .isEqualTo(403);
+        assertThat(perform("DELETE", "/api/patient/" + UUID.randomUUID() + "/medical/records/" + UUID.randomUUID(),
+                token).getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void doctorPathNeedsTheDoctorRole() throws Exception {
+        // A patient whose id happens to be in a /doctor path still isn't a doctor
+        assertThat(perform("GET", "/api/doctor/" + patient.getId() + "/appointments/today",
+                tokenService.issue(patient)).getStatus()).isEqualTo(403);
+        assertThat(perform("GET", "/api/doctor/" + doctor.getId() + "/appointments/today",
+                tokenService.issue(doctor)).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void adminPathsNeedTheAdminRole() throws Exception {
+        assertThat(perform("GET", "/api/admin/user-directory/stats", tokenService.issue(patient)).getStatus())
+                .isEqualTo(403);
+        assertThat(perform("GET", "/api/admin/user-directory/stats", tokenService.issue(doctor)).getStatus())
+                .isEqualTo(403);
+        assertThat(perform("GET", "/api/admin/user-directory/stats", tokenService.issue(user("Admin"))).getStatus())
+                .isEqualTo(200);
+        // The account directory lists everyone, so it sits under /admin too
+        assertThat(perform("GET", "/api/admin/users", tokenService.issue(patient)).getStatus())
+                .isEqualTo(403);
+    }
+
+    @Test
+    void loginAndRegisterArePublic() throws Exception {
+        assertThat(perform("POST", "/api/login", null).getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/register", null).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void streamOpensOnceWithATicket() throws Exception {
+        AuthenticatedUser caller = tokenService.verify(tokenService.issue(patient)).orElseThrow();
+        String stream = "/api/patient/" + patient.getId() + "/notifications/stream";
+        String ticket = tokenService.issueStreamTicket(caller);
+
+        assertThat(performWithParam(stream, "ticket", ticket).getStatus()).isEqualTo(200);
+        assertThat(performWithParam(stream, "ticket", ticket).getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void ticketOnlyOpensTheStream() throws Exception {
+        AuthenticatedUser caller = tokenService.verify(tokenService.issue(patient)).orElseThrow();
+        String ticket = tokenService.issueStreamTicket(caller);
+
+        assertThat(performWithParam("/api/patient/" + patient.getId() + "/notifications", "ticket", ticket)
+                .getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void sessionTokenInTheQueryStringIsIgnored() throws Exception {
+        String stream = "/api/patient/" + patient.getId() + "/notifications/stream";
+
+        assertThat(performWithParam(stream, "access_token", tokenService.issue(patient)).getStatus())
+                .isEqualTo(401);
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String token) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, token), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletResponse performWithParam(String uri, String name, String value) throws Exception {
+        MockHttpServletRequest request = request("GET", uri, null);
+        request.setParameter(name, value);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private static User user(String role) {
+        User user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setRole(role);
+        return user;
+    }
+}
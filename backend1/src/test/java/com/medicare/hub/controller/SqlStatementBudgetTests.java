@@ -0,0 +1,178 @@
+package com.medicare.hub.controller;
+
+import com.medicare.hub.model.Appointment;
+import com.medicare.hub.model.PatientHealthData;
+import com.medicare.hub.model.PatientNotification;
+import com.medicare.hub.model.User;
+import com.medicare.hub.repository.AppointmentRepository;
+import com.medicare.hub.repository.PatientHealthDataRepository;
+import com.medicare.hub.repository.PatientNotificationRepository;
+import com.medicare.hub.repository.UserRepository;
+import com.medicare.hub.service.TokenService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.medicare.hub.support.SqlStatementBudget.atMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the dashboard endpoints. Every fixture involves FAN_OUT other users,
+ * so a per-row lookup shows up as FAN_OUT extra statements and fails the budget.
+ * Runs in a transaction that is rolled back after each test.
+ */
+@SpringBootTest(properties = "app.sql-count.header=true")
+@AutoConfigureMockMvc
+@Transactional
+class SqlStatementBudgetTests {
+
+    private static final int FAN_OUT = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private PatientNotificationRepository notificationRepository;
+    @Autowired
+    private PatientHealthDataRepository healthDataRepository;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User doctor;
+    private User patient;
+
+    @BeforeEach
+    void seed() {
+        doctor = user("Doctor");
+        patient = user("Patient");
+        List<User> doctors = new ArrayList<>();
+        List<User> patients = new ArrayList<>();
+        for (int i = 0; i < FAN_OUT; i++) {
+            doctors.add(user("Doctor"));
+            patients.add(user("Patient"));
+        }
+
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < FAN_OUT; i++) {
+            // The doctor's day and week, each with a different patient
+            appointment(patients.get(i), doctor, today, "accepted", "New Patient");
+            appointment(patients.get(i), doctor, today.plusDays(1 + i), "accepted", "Follow-up");
+            // The patient's history, each with a different doctor
+            appointment(patient, doctors.get(i), today.minusDays(1 + i), "completed", "Check-Up");
+            notification(patient);
+        }
+        healthData(patient);
+
+        // Start every request with an empty persistence context, like a real one
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void patientAppointments() throws Exception {
+        mockMvc.perform(get("/api/patient/{id}/appointments", patient.getId()).header("Authorization", bearer(patient)))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void doctorTodayAppointments() throws Exception {
+        mockMvc.perform(get("/api/doctor/{id}/appointments/today", doctor.getId()).header("Authorization", bearer(doctor)))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void doctorUpcomingAppointments() throws Exception {
+        mockMvc.perform(get("/api/doctor/{id}/appointments/upcoming", doctor.getId()).header("Authorization", bearer(doctor)))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void doctorNewPatients() throws Exception {
+        mockMvc.perform(get("/api/doctor/{id}/patients/new", doctor.getId()).header("Authorization", bearer(doctor)))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void patientNotifications() throws Exception {
+        mockMvc.perform(get("/api/patient/{id}/notifications", patient.getId()).header("Authorization", bearer(patient)))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    // Medications and allergies are arrays on the row: no collection query
+    @Test
+    void patientHealthData() throws Exception {
+        mockMvc.perform(get("/api/patient/{id}/health-data", patient.getId()).header("Authorization", bearer(patient)))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + tokenService.issue(user);
+    }
+
+    private User user(String role) {
+        String id = UUID.randomUUID().toString();
+        User user = new User();
+        user.setId(id);
+        user.setName(role + " " + id.substring(0, 8));
+        user.setEmail(id + "@budget.test");
+        user.setPassword("x");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private void appointment(User patient, User doctor, LocalDate date, String status, String type) {
+        Appointment appointment = new Appointment();
+        appointment.setId(UUID.randomUUID().toString());
+        appointment.setPatientId(patient.getId());
+        appointment.setDoctorId(doctor.getId());
+        appointment.setAppointmentDate(date);
+        appointment.setAppointmentTime(LocalTime.of(10, 0));
+        appointment.setStatus(status);
+        appointment.setType(type);
+        appointment.setReason("Budget fixture");
+        appointmentRepository.save(appointment);
+    }
+
+    private void notification(User patient) {
+        PatientNotification notification = new PatientNotification();
+        notification.setId(UUID.randomUUID().toString());
+        notification.setPatientId(patient.getId());
+        notification.setType("appointment_update");
+        notification.setTitle("Appointment update");
+        notification.setMessage("Your appointment status changed");
+        notification.setIsRead(false);
+        notificationRepository.save(notification);
+    }
+
+    private void healthData(User patient) {
+        PatientHealthData healthData = new PatientHealthData();
+        healthData.setPatientId(patient.getId());
+        healthData.setCondition("Asthma");
+        healthData.setMedications(List.of("Salbutamol", "Budesonide"));
+        healthData.setAllergies(List.of("Penicillin", "Peanuts"));
+        healthDataRepository.save(healthData);
+    }
+}
@@ -0,0 +1,134 @@
+package com.medicare.hub.controller;
+
+import com.medicare.hub.model.User;
+import com.medicare.hub.repository.UserRepository;
+import com.medicare.hub.service.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The vitals endpoints end to end: validation, re-sent uploads and the range parameters.
+ * Runs in a transaction that is rolled back after each test.
+ */
+@SpringBootTest(properties = "app.vitals.max-points=3")
+@AutoConfigureMockMvc
+@Transactional
+class VitalsControllerTests {
+
+    private static final String BATCH = """
+            [{"metric":"heart-rate","recordedAt":"2026-03-02T10:05:00","value":60},
+             {"metric":"heart-rate","recordedAt":"2026-03-02T10:05:00","value":60},
+             {"metric":"heart-rate","recordedAt":"2026-03-02T10:20:00","value":80}]""";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TokenService tokenService;
+
+    private User patient;
+
+    @BeforeEach
+    void seed() {
+        String id = UUID.randomUUID().toString();
+        patient = new User();
+        patient.setId(id);
+        patient.setName("Patient " + id.substring(0, 8));
+        patient.setEmail(id + "@vitals.test");
+        patient.setPassword("x");
+        patient.setRole("Patient");
+        patient = userRepository.save(patient);
+    }
+
+    @Test
+    void resentUploadStoresNothing() throws Exception {
+        mockMvc.perform(upload(BATCH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.stored").value(2));
+        mockMvc.perform(upload(BATCH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stored").value(0));
+
+        mockMvc.perform(series("from=2026-03-02T10:00:00&to=2026-03-02T11:00:00&resolution=hour"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.series.samples", contains(2)))
+                .andExpect(jsonPath("$.series.values", contains(70.0)));
+    }
+
+    @Test
+    void unknownMetricIsRejected() throws Exception {
+        mockMvc.perform(upload("[{\"metric\":\"mood\",\"recordedAt\":\"2026-03-02T10:05:00\",\"value\":1}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown metric: mood"));
+    }
+
+    @Test
+    void readingWithoutValueIsRejected() throws Exception {
+        mockMvc.perform(upload("[{\"metric\":\"heart-rate\",\"recordedAt\":\"2026-03-02T10:05:00\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void emptyRangeIsRejected() throws Exception {
+        mockMvc.perform(series("from=2026-03-02T11:00:00&to=2026-03-02T11:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("from must be before to"));
+    }
+
+    @Test
+    void rawRangeExcludesToAndFlagsTruncation() throws Exception {
+        mockMvc.perform(upload("""
+                [{"metric":"heart-rate","recordedAt":"2026-03-02T10:00:00","value":1},
+                 {"metric":"heart-rate","recordedAt":"2026-03-02T10:01:00","value":2},
+                 {"metric":"heart-rate","recordedAt":"2026-03-02T10:02:00","value":3},
+                 {"metric":"heart-rate","recordedAt":"2026-03-02T10:03:00","value":4},
+                 {"metric":"heart-rate","recordedAt":"2026-03-02T10:04:00","value":5}]"""))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(series("from=2026-03-02T10:00:00&to=2026-03-02T10:03:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.series.resolution").value("raw"))
+                .andExpect(jsonPath("$.series.values", contains(1.0, 2.0, 3.0)))
+                .andExpect(jsonPath("$.series.truncated").value(false));
+
+        mockMvc.perform(series("from=2026-03-02T10:00:00&to=2026-03-02T11:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.series.time", hasSize(3)))
+                .andExpect(jsonPath("$.series.values", contains(3.0, 4.0, 5.0)))
+                .andExpect(jsonPath("$.series.truncated").value(true));
+    }
+
+    private MockHttpServletRequestBuilder upload(String body) {
+        return post("/api/patient/{id}/vitals", patient.getId())
+                .header("Authorization", bearer())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private MockHttpServletRequestBuilder series(String query) {
+        return get("/api/patient/{id}/vitals/heart-rate?" + query, patient.getId())
+                .header("Authorization", bearer());
+    }
+
+    private String bearer() {
+        return "Bearer " + tokenService.issue(patient);
+    }
+}
@@ -0,0 +1,71 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.repository.AccessGrantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grants as seen by this instance and by another one sharing the table, which is a second
+ * service over the same repository. Runs in a transaction that is rolled back after each test.
+ */
+@SpringBootTest
+@Transactional
+class AccessGrantServiceTests {
+
+    @Autowired
+    private AccessGrantService accessGrantService;
+    @Autowired
+    private AccessGrantRepository accessGrantRepository;
+
+    private final String doctorId = UUID.randomUUID().toString();
+    private final String patientId = UUID.randomUUID().toString();
+
+    private AccessGrantService otherInstance;
+
+    @BeforeEach
+    void startOtherInstance() {
+        otherInstance = new AccessGrantService(accessGrantRepository, 24, 100, 30);
+    }
+
+    @Test
+    void revokedGrantIsRefused() {
+        accessGrantService.grant(doctorId, patientId);
+        assertThat(accessGrantService.hasAccess(doctorId, patientId)).isTrue();
+
+        assertThat(accessGrantService.revoke(doctorId, patientId)).isTrue();
+
+        assertThat(accessGrantService.hasAccess(doctorId, patientId)).isFalse();
+        assertThat(accessGrantService.revoke(doctorId, patientId)).isFalse();
+    }
+
+    @Test
+    void grantMadeOnAnotherInstanceWorksRightAway() {
+        assertThat(otherInstance.hasAccess(doctorId, patientId)).isFalse();
+
+        accessGrantService.grant(doctorId, patientId);
+
+        assertThat(otherInstance.hasAccess(doctorId, patientId)).isTrue();
+    }
+
+    @Test
+    void revokeOnAnotherInstanceHoldsOnceTheCachedGrantExpires() {
+        // A zero cache TTL stands in for waiting it out
+        AccessGrantService uncached = new AccessGrantService(accessGrantRepository, 24, 100, 0);
+        accessGrantService.grant(doctorId, patientId);
+        assertThat(uncached.hasAccess(doctorId, patientId)).isTrue();
+        assertThat(otherInstance.hasAccess(doctorId, patientId)).isTrue();
+
+        accessGrantService.revoke(doctorId, patientId);
+
+        assertThat(uncached.hasAccess(doctorId, patientId)).isFalse();
+        // Within its cache TTL, the documented limit
+        assertThat(otherInstance.hasAccess(doctorId, patientId)).isTrue();
+    }
+}
@@ -0,0 +1,149 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.model.User;
+import com.medicare.hub.service.TokenService.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Signing, expiry and revocation of session tokens and stream tickets. No Spring context:
+ * each test builds its own TokenService with a random key.
+ */
+class TokenServiceTests {
+
+    private final TokenService tokenService = new TokenService("", 12, 30);
+
+    @Test
+    void issuedTokenVerifies() {
+        User user = user("Patient");
+
+        AuthenticatedUser verified = tokenService.verify(tokenService.issue(user)).orElseThrow();
+
+        assertThat(verified.id()).isEqualTo(user.getId());
+        assertThat(verified.role()).isEqualTo("Patient");
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        TokenService expired = new TokenService("", -1, 30);
+
+        assertThat(expired.verify(expired.issue(user("Patient")))).isEmpty();
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        TokenService otherKey = new TokenService("", 12, 30);
+
+        assertThat(tokenService.verify(otherKey.issue(user("Patient")))).isEmpty();
+    }
+
+    @Test
+    void alteredSignatureIsRejected() {
+        String token = tokenService.issue(user("Patient"));
+        // Not the last character: its low bits are base64 padding and may not change the decoded MAC
+        int at = token.lastIndexOf('.') + 1;
+        char c = token.charAt(at);
+        String altered = token.substring(0, at) + (c == 'A' ? 'B' : 'A') + token.substring(at + 1);
+
+        assertThat(tokenService.verify(altered)).isEmpty();
+    }
+
+    @Test
+    void payloadWithRaisedRoleIsRejected() {
+        String token = tokenService.issue(user("Patient"));
+        int dot = token.lastIndexOf('.');
+        String payload = new String(Base64.getUrlDecoder().decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.replace("|Patient|", "|Admin|").getBytes(StandardCharsets.UTF_8))
+                + token.substring(dot);
+
+        assertThat(tokenService.verify(forged)).isEmpty();
+    }
+
+    @Test
+    void garbageIsRejected() {
+        assertThat(tokenService.verify(null)).isEmpty();
+        assertThat(tokenService.verify("")).isEmpty();
+        assertThat(tokenService.verify("not-a-token")).isEmpty();
+        assertThat(tokenService.verify("!!!.???")).isEmpty();
+    }
+
+    @Test
+    void revokedTokenIsRejected() {
+        User user = user("Patient");
+        String revoked = tokenService.issue(user);
+        String other = tokenService.issue(user);
+
+        tokenService.revoke(tokenService.verify(revoked).orElseThrow());
+
+        assertThat(tokenService.verify(revoked)).isEmpty();
+        assertThat(tokenService.verify(other)).isPresent();
+    }
+
+    @Test
+    void revokeAllRejectsEveryTokenOfTheUser() {
+        User user = user("Doctor");
+        String token = tokenService.issue(user);
+
+        tokenService.revokeAll(user.getId());
+
+        assertThat(tokenService.verify(token)).isEmpty();
+    }
+
+    // The documented limit: revocation is kept in memory, so a restart (or another instance
+    // sharing the key) doesn't know about it
+    @Test
+    void revocationIsForgottenByANewInstance() {
+        String secret = Base64.getEncoder().encodeToString(new byte[32]);
+        TokenService before = new TokenService(secret, 12, 30);
+        User user = user("Patient");
+        String revoked = before.issue(user);
+        String ofPurgedUser = before.issue(user("Doctor"));
+        before.revoke(before.verify(revoked).orElseThrow());
+        before.revokeAll(before.verify(ofPurgedUser).orElseThrow().id());
+
+        TokenService after = new TokenService(secret, 12, 30);
+
+        assertThat(after.verify(revoked)).isPresent();
+        assertThat(after.verify(ofPurgedUser)).isPresent();
+    }
+
+    @Test
+    void streamTicketIsRedeemableOnce() {
+        AuthenticatedUser user = tokenService.verify(tokenService.issue(user("Patient"))).orElseThrow();
+        String ticket = tokenService.issueStreamTicket(user);
+
+        assertThat(tokenService.redeemStreamTicket(ticket)).get()
+                .extracting(AuthenticatedUser::id).isEqualTo(user.id());
+        assertThat(tokenService.redeemStreamTicket(ticket)).isEmpty();
+    }
+
+    @Test
+    void expiredStreamTicketIsRejected() {
+        TokenService shortTickets = new TokenService("", 12, -1);
+        AuthenticatedUser user = shortTickets.verify(shortTickets.issue(user("Patient"))).orElseThrow();
+
+        assertThat(shortTickets.redeemStreamTicket(shortTickets.issueStreamTicket(user))).isEmpty();
+    }
+
+    @Test
+    void ticketsAndSessionTokensAreNotInterchangeable() {
+        String token = tokenService.issue(user("Patient"));
+        String ticket = tokenService.issueStreamTicket(tokenService.verify(token).orElseThrow());
+
+        assertThat(tokenService.verify(ticket)).isEmpty();
+        assertThat(tokenService.redeemStreamTicket(token)).isEmpty();
+    }
+
+    static User user(String role) {
+        User user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,61 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.model.PatientNotification;
+import com.medicare.hub.repository.PatientNotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counters against notifications written behind their back, as another instance or a bulk
+ * delete would. Runs in a transaction that is rolled back after each test.
+ */
+@SpringBootTest
+@Transactional
+class UnreadCounterServiceTests {
+
+    @Autowired
+    private PatientNotificationRepository notificationRepository;
+
+    private final String patientId = UUID.randomUUID().toString();
+
+    @Test
+    void reconcileCorrectsALoadedCounter() {
+        UnreadCounterService counters = new UnreadCounterService(notificationRepository, 100, 30);
+        unread();
+        assertThat(counters.get(patientId)).isEqualTo(1);
+
+        unread();
+        assertThat(counters.get(patientId)).isEqualTo(1);
+        counters.reconcile();
+
+        assertThat(counters.get(patientId)).isEqualTo(2);
+    }
+
+    @Test
+    void idleCounterIsReloaded() {
+        // No idle time at all: every read finds the counter expired
+        UnreadCounterService counters = new UnreadCounterService(notificationRepository, 100, 0);
+        unread();
+        assertThat(counters.get(patientId)).isEqualTo(1);
+
+        unread();
+
+        assertThat(counters.get(patientId)).isEqualTo(2);
+    }
+
+    private void unread() {
+        PatientNotification notification = new PatientNotification();
+        notification.setId(UUID.randomUUID().toString());
+        notification.setPatientId(patientId);
+        notification.setType("appointment_update");
+        notification.setTitle("Appointment update");
+        notification.setIsRead(false);
+        notificationRepository.saveAndFlush(notification);
+    }
+}
@@ -0,0 +1,127 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.model.PatientNotification;
+import com.medicare.hub.model.User;
+import com.medicare.hub.model.UserPurgeJob;
+import com.medicare.hub.repository.PatientNotificationRepository;
+import com.medicare.hub.repository.UserPurgeJobRepository;
+import com.medicare.hub.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Where a purge job resumes and who gets to run it. Every job is created long ago, so it is the
+ * first one claimed. Runs in a transaction that is rolled back after each test.
+ */
+@SpringBootTest
+@Transactional
+class UserPurgeServiceTests {
+
+    @Autowired
+    private UserPurgeService userPurgeService;
+    @Autowired
+    private UserPurgeJobRepository jobRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PatientNotificationRepository notificationRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User patient;
+    private PatientNotification notification;
+
+    @BeforeEach
+    void seedTombstonedPatient() {
+        String id = UUID.randomUUID().toString();
+        patient = new User();
+        patient.setId(id);
+        patient.setName("Purged " + id.substring(0, 8));
+        patient.setEmail(id + "@purge.test");
+        patient.setPassword("x");
+        patient.setRole("Patient");
+        patient.setDeletedAt(LocalDateTime.now());
+        userRepository.save(patient);
+
+        notification = new PatientNotification();
+        notification.setId(UUID.randomUUID().toString());
+        notification.setPatientId(id);
+        notification.setType("appointment_update");
+        notification.setTitle("Appointment update");
+        notification.setIsRead(false);
+        notificationRepository.save(notification);
+    }
+
+    @Test
+    void jobResumesAfterTheNamedStep() {
+        // The notifications step comes before doctor_tasks, so it isn't run again
+        UserPurgeJob job = job("doctor_tasks.doctor_id", null);
+
+        userPurgeService.runPending();
+
+        assertThat(reload(job).getStatus()).isEqualTo(UserPurgeService.DONE);
+        assertThat(reload(job).getLastStep()).isEqualTo("users");
+        assertThat(notificationRepository.existsById(notification.getId())).isTrue();
+        assertThat(userRepository.existsById(patient.getId())).isFalse();
+    }
+
+    @Test
+    void jobPastARemovedStepStartsOver() {
+        UserPurgeJob job = job("patient_allergies.patient_id", null);
+
+        userPurgeService.runPending();
+
+        assertThat(reload(job).getStatus()).isEqualTo(UserPurgeService.DONE);
+        assertThat(notificationRepository.existsById(notification.getId())).isFalse();
+        assertThat(userRepository.existsById(patient.getId())).isFalse();
+    }
+
+    @Test
+    void jobClaimedElsewhereIsLeftAlone() {
+        UserPurgeJob job = job(null, LocalDateTime.now().plusMinutes(5));
+
+        userPurgeService.runPending();
+
+        assertThat(reload(job).getStatus()).isEqualTo(UserPurgeService.PENDING);
+        assertThat(userRepository.existsById(patient.getId())).isTrue();
+    }
+
+    @Test
+    void lapsedClaimIsTakenOver() {
+        UserPurgeJob job = job("queue files", LocalDateTime.now().minusMinutes(1));
+
+        userPurgeService.runPending();
+
+        assertThat(reload(job).getStatus()).isEqualTo(UserPurgeService.DONE);
+        assertThat(reload(job).getClaimedUntil()).isNull();
+    }
+
+    private UserPurgeJob job(String lastStep, LocalDateTime claimedUntil) {
+        UserPurgeJob job = new UserPurgeJob();
+        job.setUserId(patient.getId());
+        job.setStatus(UserPurgeService.PENDING);
+        job.setLastStep(lastStep);
+        job.setClaimedUntil(claimedUntil);
+        job.setCreatedAt(LocalDateTime.of(2000, 1, 1, 0, 0));
+        jobRepository.save(job);
+        // The steps and the claim go through JDBC
+        entityManager.flush();
+        entityManager.clear();
+        return job;
+    }
+
+    private UserPurgeJob reload(UserPurgeJob job) {
+        entityManager.flush();
+        entityManager.clear();
+        return jobRepository.findById(job.getId()).orElseThrow();
+    }
+}
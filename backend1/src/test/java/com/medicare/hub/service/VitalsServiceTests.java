@@ -0,0 +1,154 @@
+package com.medicare.hub.service;
+
+import com.medicare.hub.dto.VitalReadingRequest;
+import com.medicare.hub.dto.VitalSeries;
+import com.medicare.hub.model.VitalMetric;
+import com.medicare.hub.service.VitalsService.Resolution;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ingest and range reads against the real vitals tables: the rollups are maintained by the
+ * ingest statement itself, so only Postgres can say whether they add up.
+ * Every test uses a fresh patient id and is rolled back afterwards.
+ */
+@SpringBootTest(properties = "app.vitals.max-points=3")
+@Transactional
+class VitalsServiceTests {
+
+    private static final LocalDateTime TEN = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    @Autowired
+    private VitalsService vitalsService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String patientId = UUID.randomUUID().toString();
+
+    @Test
+    void resentBatchStoresNothingAndLeavesRollupsAlone() {
+        List<VitalReadingRequest> batch = List.of(
+                heartRate(TEN.plusMinutes(5), 60),
+                heartRate(TEN.plusMinutes(20), 80));
+
+        assertThat(vitalsService.ingest(patientId, batch)).isEqualTo(2);
+        Map<String, Object> before = hourlyRollup();
+
+        assertThat(vitalsService.ingest(patientId, batch)).isZero();
+        assertThat(rawCount()).isEqualTo(2);
+        assertThat(hourlyRollup()).isEqualTo(before);
+    }
+
+    @Test
+    void duplicatesWithinABatchAreStoredOnce() {
+        List<VitalReadingRequest> batch = List.of(
+                heartRate(TEN.plusMinutes(5), 60),
+                heartRate(TEN.plusMinutes(5), 60),
+                heartRate(TEN.plusMinutes(20), 80));
+
+        assertThat(vitalsService.ingest(patientId, batch)).isEqualTo(2);
+        assertThat(rawCount()).isEqualTo(2);
+        assertThat(hourlyRollup()).containsEntry("samples", 2).containsEntry("total", 140.0);
+    }
+
+    @Test
+    void batchesHittingTheSameHourMergeIntoOneBucket() {
+        vitalsService.ingest(patientId, List.of(heartRate(TEN.plusMinutes(5), 60), heartRate(TEN.plusMinutes(20), 80)));
+        vitalsService.ingest(patientId, List.of(heartRate(TEN.plusMinutes(40), 50), heartRate(TEN.plusMinutes(50), 90)));
+
+        for (Resolution resolution : List.of(Resolution.HOUR, Resolution.DAY)) {
+            VitalSeries series = series(TEN, TEN.plusHours(1), resolution);
+            assertThat(series.time()).hasSize(1);
+            assertThat(series.min()).containsExactly(50);
+            assertThat(series.max()).containsExactly(90);
+            assertThat(series.samples()).containsExactly(4);
+            assertThat(series.values()).containsExactly(70);
+        }
+    }
+
+    @Test
+    void rangeIncludesFromAndExcludesTo() {
+        vitalsService.ingest(patientId, List.of(
+                heartRate(TEN.minusSeconds(1), 1),
+                heartRate(TEN, 2),
+                heartRate(TEN.plusMinutes(30), 3),
+                heartRate(TEN.plusHours(1), 4)));
+
+        VitalSeries raw = series(TEN, TEN.plusHours(1), Resolution.RAW);
+        assertThat(raw.time()).containsExactly(millis(TEN), millis(TEN.plusMinutes(30)));
+        assertThat(raw.values()).containsExactly(2, 3);
+        assertThat(raw.min()).isNull();
+
+        // A rollup range starting mid-hour still gets that hour's bucket
+        VitalSeries hourly = series(TEN.plusMinutes(30), TEN.plusHours(1), Resolution.HOUR);
+        assertThat(hourly.time()).containsExactly(millis(TEN));
+        assertThat(hourly.samples()).containsExactly(2);
+    }
+
+    @Test
+    void rangeAtThePointLimitIsNotTruncated() {
+        vitalsService.ingest(patientId, List.of(
+                heartRate(TEN, 1), heartRate(TEN.plusMinutes(1), 2), heartRate(TEN.plusMinutes(2), 3)));
+
+        VitalSeries series = series(TEN, TEN.plusHours(1), Resolution.RAW);
+        assertThat(series.values()).containsExactly(1, 2, 3);
+        assertThat(series.truncated()).isFalse();
+    }
+
+    @Test
+    void rangeOverThePointLimitKeepsTheNewestPoints() {
+        vitalsService.ingest(patientId, List.of(
+                heartRate(TEN, 1), heartRate(TEN.plusMinutes(1), 2), heartRate(TEN.plusMinutes(2), 3),
+                heartRate(TEN.plusMinutes(3), 4), heartRate(TEN.plusMinutes(4), 5)));
+
+        VitalSeries series = series(TEN, TEN.plusHours(1), Resolution.RAW);
+        assertThat(series.values()).containsExactly(3, 4, 5);
+        assertThat(series.time()).containsExactly(
+                millis(TEN.plusMinutes(2)), millis(TEN.plusMinutes(3)), millis(TEN.plusMinutes(4)));
+        assertThat(series.truncated()).isTrue();
+    }
+
+    @Test
+    void latestIsTheNewestReadingOfEachMetric() {
+        vitalsService.ingest(patientId, List.of(
+                heartRate(TEN, 60),
+                heartRate(TEN.plusMinutes(10), 70),
+                new VitalReadingRequest("spo2", TEN.plusMinutes(5), 98.0)));
+
+        assertThat(vitalsService.latest(patientId)).containsOnlyKeys("heart-rate", "spo2");
+        assertThat(vitalsService.latest(patientId).get("heart-rate").value()).isEqualTo(70);
+    }
+
+    private VitalSeries series(LocalDateTime from, LocalDateTime to, Resolution resolution) {
+        return vitalsService.series(patientId, VitalMetric.HEART_RATE, from, to, resolution);
+    }
+
+    private Integer rawCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM vital_readings WHERE patient_id = CAST(? AS uuid)",
+                Integer.class, patientId);
+    }
+
+    private Map<String, Object> hourlyRollup() {
+        return jdbcTemplate.queryForMap("SELECT total, min_value, max_value, samples FROM vital_readings_hourly " +
+                "WHERE patient_id = CAST(? AS uuid) AND bucket_start = ?", patientId, TEN);
+    }
+
+    private static VitalReadingRequest heartRate(LocalDateTime recordedAt, double value) {
+        return new VitalReadingRequest("heart-rate", recordedAt, value);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return Timestamp.valueOf(time).getTime();
+    }
+}
@@ -0,0 +1,30 @@
+package com.medicare.hub.support;
+
+import com.medicare.hub.config.SqlStatementCountFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matcher for the number of SQL statements a request ran, read from the X-SQL-Count
+ * header, so the test needs app.sql-count.header=true.
+ * Seed fixtures with several related rows; a change that turns one query into one per row
+ * then goes over the budget.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+            assertNotNull(header, "No " + SqlStatementCountFilter.HEADER + " header; is app.sql-count.header=true set?");
+            int statements = Integer.parseInt(header);
+            assertTrue(statements <= maxStatements, () -> result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " ran " + statements
+                    + " SQL statements, budget is " + maxStatements);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * fetch() that attaches the session token issued at login
+ */
+export function authFetch(url, options = {}) {
+  const token = sessionStorage.getItem('authToken');
+  if (!token) return fetch(url, options);
+
+  return fetch(url, {
+    ...options,
+    headers: { ...options.headers, Authorization: `Bearer ${token}` },
+  });
+}
+
+/**
+ * EventSource that authenticates with a single-use stream ticket, so the session token never
+ * goes into a URL (EventSource can't send headers). A ticket opens one connection only, so
+ * instead of the browser's own retry this reconnects with a fresh ticket, passing the last
+ * event id so nothing is missed. listeners maps event names to handlers; returns { close }.
+ */
+export function authEventSource(url, listeners) {
+  let source = null;
+  let lastEventId = null;
+  let retryTimer = null;
+  let closed = false;
+
+  const connect = async () => {
+    const params = new URLSearchParams();
+    if (sessionStorage.getItem('authToken')) {
+      try {
+        const response = await authFetch(`${url}/ticket`, { method: 'POST' });
+        const result = await response.json();
+        if (result.success) params.set('ticket', result.ticket);
+      } catch (err) {
+        console.error('❌ Error fetching stream ticket:', err);
+      }
+    }
+    if (lastEventId) params.set('lastEventId', lastEventId);
+    if (closed) return;
+
+    const query = params.toString();
+    source = new EventSource(query ? `${url}?${query}` : url);
+    Object.entries(listeners).forEach(([type, handler]) => {
+      source.addEventListener(type, (event) => {
+        if (event.lastEventId) lastEventId = event.lastEventId;
+        handler(event);
+      });
+    });
+    source.onerror = () => {
+      source.close();
+      if (!closed) retryTimer = setTimeout(connect, 3000);
+    };
+  };
+
+  connect();
+  return {
+    close() {
+      closed = true;
+      clearTimeout(retryTimer);
+      if (source) source.close();
+    },
+  };
+}
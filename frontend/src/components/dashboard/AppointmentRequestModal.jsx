@@ -1,5 +1,6 @@
 import { useState, useEffect } from 'react';
 import { X, Calendar, Clock, User, FileText } from 'lucide-react';
+import { authFetch } from '../../api';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -12,12 +13,8 @@ const TIME_CONFIG = {
   INTERVAL_MINUTES: 30  // 30-minute slots - Change to 15, 30, or 60
 };
 
-// Test doctors list (will be replaced with API call later)
-const TEST_DOCTORS = [
-  { id: "doc1", name: "Dr. Sarah Mitchell", specialty: "Cardiologist" },
-  { id: "doc2", name: "Dr. John Davis", specialty: "General Physician" },
-  { id: "doc3", name: "Dr. Emily Chen", specialty: "Pediatrician" }
-];
+const DOCTOR_SEARCH_LIMIT = 20;
+const DOCTOR_SEARCH_DEBOUNCE_MS = 200;
 
 const APPOINTMENT_TYPES = [
   'New Patient',
@@ -89,7 +86,8 @@ function AppointmentRequestModal({ show, patientId, onClose, onSuccess, onError
     reason: ''
   });
   const [isSubmitting, setIsSubmitting] = useState(false);
-  const [doctors, setDoctors] = useState(TEST_DOCTORS);
+  const [doctors, setDoctors] = useState([]);
+  const [doctorSearch, setDoctorSearch] = useState('');
   const [timeSlots] = useState(generateTimeSlots());
 
   useEffect(() => {
@@ -102,9 +100,40 @@ function AppointmentRequestModal({ show, patientId, onClose, onSuccess, onError
         type: 'New Patient',
         reason: ''
       });
+      setDoctorSearch('');
     }
   }, [show]);
 
+  // Prefix search against the server-side doctor index, debounced while typing
+  useEffect(() => {
+    if (!show) return;
+
+    const controller = new AbortController();
+    const timer = setTimeout(async () => {
+      try {
+        const params = new URLSearchParams({ limit: DOCTOR_SEARCH_LIMIT });
+        if (doctorSearch.trim()) params.set('prefix', doctorSearch.trim());
+
+        const response = await authFetch(`${API_BASE_URL}/doctors?${params}`, {
+          signal: controller.signal
+        });
+        const data = await response.json();
+        if (response.ok && data.success) {
+          setDoctors(data.doctors);
+        }
+      } catch (error) {
+        if (error.name !== 'AbortError') {
+          console.error('Error searching doctors:', error);
+        }
+      }
+    }, DOCTOR_SEARCH_DEBOUNCE_MS);
+
+    return () => {
+      clearTimeout(timer);
+      controller.abort();
+    };
+  }, [show, doctorSearch]);
+
   if (!show) return null;
 
   const handleInputChange = (e) => {
@@ -134,7 +163,7 @@ function AppointmentRequestModal({ show, patientId, onClose, onSuccess, onError
     setIsSubmitting(true);
 
     try {
-      const response = await fetch(`${API_BASE_URL}/patient/${patientId}/appointments/request`, {
+      const response = await authFetch(`${API_BASE_URL}/patient/${patientId}/appointments/request`, {
         method: 'POST',
         headers: {
           'Content-Type': 'application/json'
@@ -204,6 +233,14 @@ function AppointmentRequestModal({ show, patientId, onClose, onSuccess, onError
                 <User className="w-4 h-4" />
                 Select Doctor <span className="text-red-500">*</span>
               </label>
+              <input
+                type="text"
+                value={doctorSearch}
+                onChange={(e) => setDoctorSearch(e.target.value)}
+                disabled={isSubmitting}
+                placeholder="Search by doctor name..."
+                className="w-full px-4 py-3 mb-2 border border-gray-300 rounded-lg focus:ring-2 focus:ring-green-500 focus:border-transparent transition"
+              />
               <select
                 name="doctorId"
                 value={formData.doctorId}
@@ -214,7 +251,7 @@ function AppointmentRequestModal({ show, patientId, onClose, onSuccess, onError
                 <option value="">-- Choose a Doctor --</option>
                 {doctors.map(doc => (
                   <option key={doc.id} value={doc.id}>
-                    {doc.name} - {doc.specialty}
+                    {doc.name}{doc.hospitalName ? ` - ${doc.hospitalName}` : ''}
                   </option>
                 ))}
               </select>
@@ -1,5 +1,6 @@
 import { useState, useEffect } from 'react';
 import { LogOut, User, AlertCircle, CheckCircle } from 'lucide-react';
+import { authFetch } from '../../api';
 
 const API_URL = 'http://localhost:8080/api';
 
@@ -14,7 +15,7 @@ function DashboardLayout({ userData, onLogout, onOpenProfile, children }) {
 
   const checkProfileCompleteness = async () => {
     try {
-      const response = await fetch(`${API_URL}/user/${userData.id}`);
+      const response = await authFetch(`${API_URL}/user/${userData.id}`);
       const result = await response.json;
 
       if (result.success) {
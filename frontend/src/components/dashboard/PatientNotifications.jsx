@@ -1,5 +1,6 @@
 import { useState, useEffect } from 'react';
 import { Bell, Key, Clock, X } from 'lucide-react';
+import { authFetch, authEventSource } from '../../api';
 
 const API_URL = 'http://localhost:8080/api';
 
@@ -17,16 +18,24 @@ function PatientNotifications({ patientId, showAsDropdown = false }) {
   useEffect(() => {
     if (patientId) {
       fetchNotifications();
-      // Poll for new notifications every 30 seconds
-      const interval = setInterval(fetchNotifications, 30000);
-      return () => clearInterval(interval);
+      // Server pushes new notifications; reconnects pick up from the last event seen
+      const source = authEventSource(`${API_URL}/patient/${patientId}/notifications/stream`, {
+        notification: (event) => {
+          const notification = JSON.parse(event.data);
+          setNotifications((prev) =>
+            prev.some((n) => n.id === notification.id) ? prev : [notification, ...prev]
+          );
+          fetchUnreadCount();
+        },
+      });
+      return () => source.close();
     }
   }, [patientId]);
 
   const fetchNotifications = async () => {
     setLoading(true);
     try {
-      const response = await fetch(`${API_URL}/patient/${patientId}/notifications`);
+      const response = await authFetch(`${API_URL}/patient/${patientId}/notifications`);
       const result = await response.json();
 
       if (result.success) {
@@ -40,9 +49,22 @@ function PatientNotifications({ patientId, showAsDropdown = false }) {
     }
   };
 
+  const fetchUnreadCount = async () => {
+    try {
+      const response = await authFetch(`${API_URL}/patient/${patientId}/notifications/unread-count`);
+      const result = await response.json();
+
+      if (result.success) {
+        setUnreadCount(result.unreadCount || 0);
+      }
+    } catch (err) {
+      console.error('❌ Error fetching unread count:', err);
+    }
+  };
+
   const markAsRead = async (notificationId) => {
     try {
-      const response = await fetch(
+      const response = await authFetch(
         `${API_URL}/patient/${patientId}/notifications/${notificationId}/read`,
         { method: 'PUT' }
       );
@@ -62,7 +84,7 @@ function PatientNotifications({ patientId, showAsDropdown = false }) {
     if (!window.confirm('Delete this notification?')) return;
     
     try {
-      const response = await fetch(
+      const response = await authFetch(
         `${API_URL}/patient/${patientId}/notifications/${notificationId}`,
         { method: 'DELETE' }
       );
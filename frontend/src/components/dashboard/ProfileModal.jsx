@@ -1,5 +1,6 @@
 import { useState, useEffect } from 'react';
 import { X, User, AlertCircle, Building2 } from 'lucide-react';
+import { authFetch } from '../../api';
 
 const API_URL = 'http://localhost:8080/api';
 
@@ -29,7 +30,7 @@ function ProfileModal({ show, userId, userRole, onClose, onSuccess, onError }) {
 
   const fetchUserData = async () => {
     try {
-      const response = await fetch(`${API_URL}/user/${userId}`);
+      const response = await authFetch(`${API_URL}/user/${userId}`);
       const result = await response.json();
       
       if (result.success) {
@@ -79,7 +80,7 @@ function ProfileModal({ show, userId, userRole, onClose, onSuccess, onError }) {
     setLoading(true);
     
     try {
-      const response = await fetch(`${API_URL}/user/${userId}/profile`, {
+      const response = await authFetch(`${API_URL}/user/${userId}/profile`, {
         method: 'PUT',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(formData)
@@ -50,6 +50,7 @@ const CARD_CONFIGS = {
       { key: 'doctorName', label: 'Doctor', priority: 5 },
       { key: 'instructions', label: 'Instructions', priority: 2 },
       { key: 'notes', label: 'Notes', priority: 3 },
+      { key: 'endDate', label: 'Ends On', priority: 3 },
       { key: 'prescriptionImage', label: 'View Prescription Image', priority: 4, isFile: true }
     ]
   },
@@ -1,5 +1,6 @@
 import { useState, useEffect } from 'react';
 import { X, FileUp, Image, AlertCircle } from 'lucide-react';
+import { authFetch } from '../../api';
 
 /**
  * Professional Unified Modal for Medical Records Management
@@ -69,6 +70,7 @@ const FORM_CONFIGS = {
       instructions: { label: 'Instructions', required: false, type: 'textarea', placeholder: 'e.g., Take with food, twice daily', rows: 2 },
       notes: { label: 'Notes', required: false, type: 'textarea', placeholder: 'Additional notes', rows: 2 },
       prescriptionDate: { label: 'Prescription Date', required: true, type: 'date', hideOnEdit: true },
+      endDate: { label: 'End Date', required: false, type: 'date' },
       status: { label: 'Status', required: false, type: 'select', options: ['Active', 'Completed', 'Expired'], default: 'Active' }
     },
     files: {
@@ -81,6 +83,7 @@ const FORM_CONFIGS = {
       instructions: 'instructions',
       notes: 'notes',
       prescriptionDate: 'prescriptionDate',
+      endDate: 'endDate',
       status: 'status'
     }
   },
@@ -165,7 +168,7 @@ const validateForm = (type, formData, mode) => {
 
 const buildApiUrl = (type, mode, patientId, recordId) => {
   if (mode === MODES.EDIT) {
-    return `${API_BASE_URL}/${type}/records/${recordId}`;
+    return `${API_BASE_URL}/patient/${patientId}/${type}/records/${recordId}`;
   }
   return `${API_BASE_URL}/patient/${patientId}/${type}/records`;
 };
@@ -389,7 +392,7 @@ function UnifiedRecordModal({
       return;
     }
 
-    if (mode === MODES.ADD && !patientId) {
+    if (!patientId) {
       onError('Patient ID is required');
       return;
     }
@@ -413,7 +416,7 @@ function UnifiedRecordModal({
         console.log(`  ${pair[0]}:`, pair[1] instanceof File ? `File: ${pair[1].name}` : pair[1]);
       }
 
-      const response = await fetch(endpoint, {
+      const response = await authFetch(endpoint, {
         method: mode === MODES.EDIT ? 'PUT' : 'POST',
         body: submitData
       });
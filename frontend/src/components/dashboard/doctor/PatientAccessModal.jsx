@@ -1,5 +1,6 @@
 import { useState } from 'react';
 import { X, Mail, Key, CheckCircle, Clock, AlertCircle } from 'lucide-react';
+import { authFetch } from '../../../api';
 
 const API_URL = 'http://localhost:8080/api';
 
@@ -35,7 +36,7 @@ function PatientAccessModal({ show, doctorId, onClose, onSuccess, onError }) {
     setLoading(true);
 
     try {
-      const response = await fetch(`${API_URL}/doctor/${doctorId}/request-patient-access`, {
+      const response = await authFetch(`${API_URL}/doctor/${doctorId}/request-patient-access`, {
         method: 'POST',
         headers: {
           'Content-Type': 'application/json'
@@ -80,7 +81,7 @@ function PatientAccessModal({ show, doctorId, onClose, onSuccess, onError }) {
     setLoading(true);
 
     try {
-      const response = await fetch(`${API_URL}/doctor/${doctorId}/verify-passkey`, {
+      const response = await authFetch(`${API_URL}/doctor/${doctorId}/verify-passkey`, {
         method: 'POST',
         headers: {
           'Content-Type': 'application/json'
@@ -1,5 +1,6 @@
 import { useState, useEffect } from 'react';
 import { X, User, FileText, Pill, TestTube, Calendar, Activity } from 'lucide-react';
+import { authFetch } from '../../../api';
 
 const API_URL = 'http://localhost:8080/api';
 
@@ -17,8 +18,8 @@ function PatientFullDetailsModal({ show, doctorId, patientId, onClose }) {
   const fetchFullDetails = async () => {
     setLoading(true);
     try {
-      const response = await fetch(`${API_URL}/doctor/${doctorId}/patient/${patientId}/full-details`);
-      //const response = await fetch(`${API_URL}/doctor/${doctorId}/patient/${patientId}/full-details`);
+      const response = await authFetch(`${API_URL}/doctor/${doctorId}/patient/${patientId}/full-details`);
+      //const response = await authFetch(`${API_URL}/doctor/${doctorId}/patient/${patientId}/full-details`);
       const result = await response.json();
       
       if (result.success) {
@@ -14,6 +14,7 @@ import PatientOverview from '../components/dashboard/doctor/PatientOverview';
 import TaskList from '../components/dashboard/doctor/TaskList';
 import RecentLabResults from '../components/dashboard/doctor/RecentLabResults';
 import PatientFullDetailsModal from '../components/dashboard/doctor/PatientFullDetailsModal';
+import { authFetch } from '../api';
 
 function DoctorDashboard() {
   const navigate = useNavigate();
@@ -77,35 +78,35 @@ function DoctorDashboard() {
     setLoading(true);
     try {
       // Fetch Today's Appointments
-      const todayRes = await fetch(`${API_URL}/doctor/${doctorId}/appointments/today`);
+      const todayRes = await authFetch(`${API_URL}/doctor/${doctorId}/appointments/today`);
       if (todayRes.ok) {
         const data = await todayRes.json();
         setTodayAppointments(data.appointments || []);
       }
 
       // Fetch Upcoming Appointments (includes pending requests)
-      const upcomingRes = await fetch(`${API_URL}/doctor/${doctorId}/appointments/upcoming`);
+      const upcomingRes = await authFetch(`${API_URL}/doctor/${doctorId}/appointments/upcoming`);
       if (upcomingRes.ok) {
         const data = await upcomingRes.json();
         setUpcomingAppointments(data.appointments || []);
       }
 
       // Fetch New Patients This Week
-      const newPatientsRes = await fetch(`${API_URL}/doctor/${doctorId}/patients/new`);
+      const newPatientsRes = await authFetch(`${API_URL}/doctor/${doctorId}/patients/new`);
       if (newPatientsRes.ok) {
         const data = await newPatientsRes.json();
         setNewPatients(data.patients || []);
       }
 
       // Fetch Pending Lab Results
-      const labRes = await fetch(`${API_URL}/doctor/${doctorId}/lab-results/pending`);
+      const labRes = await authFetch(`${API_URL}/doctor/${doctorId}/lab-results/pending`);
       if (labRes.ok) {
         const data = await labRes.json();
         setLabResults(data.results || []);
       }
 
       // Fetch Tasks
-      const tasksRes = await fetch(`${API_URL}/doctor/${doctorId}/tasks`);
+      const tasksRes = await authFetch(`${API_URL}/doctor/${doctorId}/tasks`);
       if (tasksRes.ok) {
         const data = await tasksRes.json();
         setTasks(data.tasks || []);
@@ -114,7 +115,7 @@ function DoctorDashboard() {
       // Fetch Featured Patient (first patient with recent activity)
       if (upcomingAppointments.length > 0) {
         const patientId = upcomingAppointments[0].patientId;
-        const patientRes = await fetch(`${API_URL}/doctor/${doctorId}/patient/${patientId}/overview`);
+        const patientRes = await authFetch(`${API_URL}/doctor/${doctorId}/patient/${patientId}/overview`);
         if (patientRes.ok) {
           const data = await patientRes.json();
           setCurrentPatient(data.patient || null);
@@ -141,7 +142,7 @@ function DoctorDashboard() {
     console.log('✅ Accepting appointment:', appointmentId);
     
     try {
-      const response = await fetch(
+      const response = await authFetch(
         `${API_URL}/doctor/${userData.id}/appointments/${appointmentId}/accept`, 
         {
           method: 'PUT',
@@ -173,7 +174,7 @@ function DoctorDashboard() {
     }
     
     try {
-      const response = await fetch(
+      const response = await authFetch(
         `${API_URL}/doctor/${userData.id}/appointments/${appointmentId}/reject`, 
         {
           method: 'PUT',
@@ -208,7 +209,7 @@ function DoctorDashboard() {
     }
     
     try {
-      const response = await fetch(
+      const response = await authFetch(
         `${API_URL}/doctor/${userData.id}/appointments/${appointmentId}/complete`, 
         {
           method: 'PUT',
@@ -237,6 +238,8 @@ function DoctorDashboard() {
   // ============================================
   const handleLogout = () => {
     setIsLoggingOut(true);
+    // Revoke the session token server-side; nothing to do if it fails
+    authFetch(`${API_URL}/logout`, { method: 'POST' }).catch(() => {});
     setTimeout(() => {
       sessionStorage.clear();
       navigate('/');
@@ -15,6 +15,7 @@ import PatientNotifications from '../components/dashboard/PatientNotifications';
 // Import UNIFIED modal with constants
 import UnifiedRecordModal, { RECORD_TYPES, MODES } from '../components/dashboard/UnifiedRecordModal';
 import AppointmentRequestModal from '../components/dashboard/AppointmentRequestModal';
+import { authFetch } from '../api';
 
 function PatientDashboard() {
   const navigate = useNavigate();
@@ -117,7 +118,7 @@ function PatientDashboard() {
   // ============================================
   const fetchNotificationsCount = async (patientId) => {
     try {
-      const response = await fetch(`${API_URL}/patient/${patientId}/notifications`);
+      const response = await authFetch(`${API_URL}/patient/${patientId}/notifications/unread-count`);
       const result = await response.json();
 
       if (result.success) {
@@ -137,13 +138,13 @@ function PatientDashboard() {
       // Fetch Medical Records
       let recordsData = { records: [] };
       try {
-        const recordsRes = await fetch(`${API_URL}/patient/${patientId}/medical/records`);
+        const recordsRes = await authFetch(`${API_URL}/patient/${patientId}/medical/records`);
         if (recordsRes.ok) {
           recordsData = await recordsRes.json();
           console.log('📋 Medical Records (unified):', recordsData);
         }
       } catch {
-        const recordsRes = await fetch(`${API_URL}/patient/${patientId}/records/Medical Record`);
+        const recordsRes = await authFetch(`${API_URL}/patient/${patientId}/records/Medical Record`);
         if (recordsRes.ok) {
           recordsData = await recordsRes.json();
           console.log('📋 Medical Records (old):', recordsData);
@@ -154,13 +155,13 @@ function PatientDashboard() {
       // Fetch Prescriptions
       let prescriptionsData = { records: [] };
       try {
-        const prescriptionsRes = await fetch(`${API_URL}/patient/${patientId}/prescription/records`);
+        const prescriptionsRes = await authFetch(`${API_URL}/patient/${patientId}/prescription/records`);
         if (prescriptionsRes.ok) {
           prescriptionsData = await prescriptionsRes.json();
           console.log('💊 Prescriptions (unified):', prescriptionsData);
         }
       } catch {
-        const prescriptionsRes = await fetch(`${API_URL}/patient/${patientId}/prescriptions`);
+        const prescriptionsRes = await authFetch(`${API_URL}/patient/${patientId}/prescriptions`);
         if (prescriptionsRes.ok) {
           prescriptionsData = await prescriptionsRes.json();
           console.log('💊 Prescriptions (old):', prescriptionsData);
@@ -175,13 +176,13 @@ function PatientDashboard() {
       // Fetch Lab Results
       let labData = { records: [] };
       try {
-        const labRes = await fetch(`${API_URL}/patient/${patientId}/lab/records`);
+        const labRes = await authFetch(`${API_URL}/patient/${patientId}/lab/records`);
         if (labRes.ok) {
           labData = await labRes.json();
           console.log('🧪 Lab Results (unified):', labData);
         }
       } catch {
-        const labRes = await fetch(`${API_URL}/patient/${patientId}/lab-results`);
+        const labRes = await authFetch(`${API_URL}/patient/${patientId}/lab-results`);
         if (labRes.ok) {
           labData = await labRes.json();
           console.log('🧪 Lab Results (old):', labData);
@@ -195,7 +196,7 @@ function PatientDashboard() {
 
        // Fetch Appointments
       try {
-        const appointmentsRes = await fetch(`${API_URL}/patient/${patientId}/appointments`);
+        const appointmentsRes = await authFetch(`${API_URL}/patient/${patientId}/appointments`);
         if (appointmentsRes.ok) {
           const appointmentsData = await appointmentsRes.json();
           setAppointments(appointmentsData.appointments || []);
@@ -218,6 +219,8 @@ function PatientDashboard() {
   // ============================================
   const handleLogout = () => {
     setIsLoggingOut(true);
+    // Revoke the session token server-side; nothing to do if it fails
+    authFetch(`${API_URL}/logout`, { method: 'POST' }).catch(() => {});
     setTimeout(() => {
       sessionStorage.clear();
       navigate('/');
@@ -252,7 +255,7 @@ function PatientDashboard() {
     console.log(`🗑️ Deleting ${type} record:`, recordId);
 
     try {
-      const response = await fetch(`${API_URL}/${type}/records/${recordId}`, {
+      const response = await authFetch(`${API_URL}/patient/${userData.id}/${type}/records/${recordId}`, {
         method: 'DELETE'
       });
 
@@ -16,8 +16,7 @@ function LoginPage() {
   const roles = [
     { value: 'Patient', label: 'Patient' },
     { value: 'Doctor', label: 'Doctor' },
-    { value: 'Hospital', label: 'Hospital' },
-    { value: 'Labs', label: 'Labs' }
+    { value: 'Admin', label: 'Administrator' }
   ];
 
   const handleInputChange = (e) => {
@@ -55,6 +54,7 @@ function LoginPage() {
         }
 
         sessionStorage.setItem('userData', JSON.stringify(result.userData));
+        sessionStorage.setItem('authToken', result.token);
         
         //alert(`Welcome back, ${result.userData.name}!`);
         navigate('/success');
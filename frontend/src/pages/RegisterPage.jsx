@@ -14,11 +14,10 @@ function RegisterPage() {
 
   const API_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api';
 
+  // Only patients and doctors can sign up; admin accounts are provisioned
   const types = [
     { value: 'Patient', label: 'Patient' },
-    { value: 'Doctor', label: 'Doctor' },
-    { value: 'Hospital', label: 'Hospital' },
-    { value: 'Labs', label: 'Labs' }
+    { value: 'Doctor', label: 'Doctor' }
   ];
 
   const handleInputChange = (e) => {
@@ -62,6 +61,7 @@ function RegisterPage() {
 
       if (result.success) {
         sessionStorage.setItem('userData', JSON.stringify(result.user));
+        sessionStorage.setItem('authToken', result.token);
         //alert(`Account created successfully as ${formData.type}!`);
         navigate('/success');
       } else {
@@ -22,7 +22,7 @@ function SuccessPage() {
         navigate('/patient-dashboard', {replace: true});
       } else if (user.role === 'Doctor') {
         alert('Doctor dashboard coming soon!');
-      } else if (user.role === 'Administrator') {
+      } else if (user.role === 'Admin') {
         alert('Admin dashboard coming soon!');
       }
     },);*/